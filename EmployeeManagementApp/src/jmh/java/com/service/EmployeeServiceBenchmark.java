@@ -0,0 +1,139 @@
+package com.service;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dto.EmployeeDTO;
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+import com.entity.Employee;
+import com.repository.EmployeeRepository;
+
+/**
+ * Entity/DTO mapping and {@link EmployeeService#getAllList()} against H2, next to the same
+ * list built by loading entities and mapping them, which is what getAllList did before it
+ * projected into DTOs. Add {@code -prof gc} to compare allocation per call. findByRole is
+ * the indexed role lookup; try it at scale with {@code -p size=5000000}. Thread count is
+ * JMH's {@code -t} option (see {@code run-benchmarks.sh} in the repository root).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+	// toDto and toEntity are private; method handles in static finals are inlined like direct calls
+	private static final MethodHandle TO_DTO;
+	private static final MethodHandle TO_ENTITY;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(EmployeeService.class, MethodHandles.lookup());
+			TO_DTO = lookup.findVirtual(EmployeeService.class, "toDto", MethodType.methodType(EmployeeDTO.class, Employee.class));
+			TO_ENTITY = lookup.findVirtual(EmployeeService.class, "toEntity", MethodType.methodType(Employee.class, EmployeeDTO.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Mapping {
+		final EmployeeService service = new EmployeeService();
+		final Employee employee = new Employee();
+		final EmployeeDTO dto = new EmployeeDTO(1L, "Roja", "Developer", 80000);
+
+		@Setup
+		public void setUp() {
+			employee.setId(1L);
+			employee.setName("Roja");
+			employee.setRole("Developer");
+			employee.setSalary(80000);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Database {
+		@Param({ "100", "10000" })
+		int size;
+
+		ConfigurableApplicationContext context;
+		EmployeeService service;
+		EmployeeRepository repository;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			context = SpringApplication.run(EmployeeManagementAppApplication.class,
+					"--spring.main.web-application-type=none", "--logging.level.root=warn",
+					"--spring.jpa.show-sql=false", "--spring.datasource.url=jdbc:h2:mem:benchmark");
+			JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+			jdbc.update("insert into employee (name, role, role_key, salary) "
+					+ "select 'Employee ' || x, 'Role ' || mod(x, 10), 'role ' || mod(x, 10), 50000 + mod(x, 1000) * 100 "
+					+ "from system_range(1, ?)", size);
+			// A rare role, so a lookup returns a handful of rows however large the table is
+			jdbc.update("insert into employee (name, role, role_key, salary) "
+					+ "select 'Contractor ' || x, 'Contractor', 'contractor', 70000 from system_range(1, 10)");
+			service = context.getBean(EmployeeService.class);
+			repository = context.getBean(EmployeeRepository.class);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			context.close();
+		}
+	}
+
+	@Benchmark
+	public EmployeeDTO toDto(Mapping state) throws Throwable {
+		return (EmployeeDTO) TO_DTO.invokeExact(state.service, state.employee);
+	}
+
+	@Benchmark
+	public Employee toEntity(Mapping state) throws Throwable {
+		return (Employee) TO_ENTITY.invokeExact(state.service, state.dto);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<EmployeeDTO> getAllList(Database state) {
+		return state.service.getAllList();
+	}
+
+	// The repository, not the service, so the role cache doesn't answer instead
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<EmployeeDTO> findByRole(Database state) {
+		return state.repository.findDtosByRoleKey("contractor");
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<EmployeeDTO> getAllListFromEntities(Database state) throws Throwable {
+		List<Employee> employees = state.repository.findAll();
+		List<EmployeeDTO> dtos = new ArrayList<>(employees.size());
+		for (Employee employee : employees) {
+			dtos.add((EmployeeDTO) TO_DTO.invokeExact(state.service, employee));
+		}
+		return dtos;
+	}
+}
@@ -0,0 +1,18 @@
+package com.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the employee lookup caches. Cache names, size and TTL are set with the
+ * {@code spring.cache.*} properties; hit/miss/eviction counts are published by actuator
+ * as the {@code cache.gets} and {@code cache.evictions} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String EMPLOYEES_BY_ID = "employeesById";
+	public static final String EMPLOYEES_BY_ROLE = "employeesByRole";
+
+}
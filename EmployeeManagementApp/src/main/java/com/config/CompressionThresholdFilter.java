@@ -0,0 +1,98 @@
+package com.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply to Spring MVC responses. Message
+ * converters flush the output stream once they have written a body, which commits the
+ * response before its length is known, and Tomcat gzips every response of unknown length.
+ * This filter drops those flushes until the body has reached the threshold, so a small
+ * body stays in Tomcat's buffer until the request ends and goes out uncompressed with a
+ * Content-Length.
+ */
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+	private final long threshold;
+
+	public CompressionThresholdFilter(long threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		chain.doFilter(request, new ThresholdResponse(response, threshold));
+	}
+
+	private static final class ThresholdResponse extends HttpServletResponseWrapper {
+		private final long threshold;
+		private long bytesWritten;
+		private ServletOutputStream outputStream;
+
+		ThresholdResponse(HttpServletResponse response, long threshold) {
+			super(response);
+			this.threshold = threshold;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) {
+				ServletOutputStream delegate = super.getOutputStream();
+				outputStream = new ServletOutputStream() {
+					@Override
+					public void write(int b) throws IOException {
+						delegate.write(b);
+						bytesWritten++;
+					}
+
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						delegate.write(b, off, len);
+						bytesWritten += len;
+					}
+
+					@Override
+					public void flush() throws IOException {
+						if (bytesWritten >= threshold) {
+							delegate.flush();
+						}
+					}
+
+					@Override
+					public void close() throws IOException {
+						delegate.close();
+					}
+
+					@Override
+					public boolean isReady() {
+						return delegate.isReady();
+					}
+
+					@Override
+					public void setWriteListener(WriteListener listener) {
+						delegate.setWriteListener(listener);
+					}
+				};
+			}
+			return outputStream;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			// Bodies written through getWriter() aren't counted, so only hold back stream output
+			if (outputStream == null || bytesWritten >= threshold) {
+				super.flushBuffer();
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.websupport.metrics.QueryCountCallableInterceptor;
+import com.example.websupport.metrics.QueryCountInspector;
+import com.example.websupport.metrics.RequestMetricsFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Request metrics on top of actuator's: SQL statements and payload bytes per endpoint.
+ * Latency of endpoints ({@code http.server.requests}) and of {@code @Timed} service methods
+ * ({@code service.method}) comes from actuator; p50/p99/p999 for all of them are switched
+ * on with {@code management.metrics.distribution.percentiles.*}.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+	@Bean
+	public RequestMetricsFilter requestMetricsFilter(MeterRegistry registry) {
+		return new RequestMetricsFilter(registry, true);
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer queryCountInspector() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+	}
+
+	// The NDJSON stream runs its query on the async executor's thread
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.registerCallableInterceptors(new QueryCountCallableInterceptor());
+	}
+}
@@ -1,8 +1,11 @@
 package com.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,8 +13,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import com.dto.EmployeeDTO;
+import com.dto.SalaryStatsDTO;
 import com.service.EmployeeService;
 
 import jakarta.validation.Valid;
@@ -22,23 +33,80 @@ public class EmployeeController {
 	@Autowired
 	private EmployeeService service;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// GETs answer 304 from these tags before touching the service; writes move them on
+	@Autowired
+	private ResourceVersions versions;
+
 	@PostMapping
 	public ResponseEntity<EmployeeDTO> create(@Valid @RequestBody EmployeeDTO dto) {
-		return ResponseEntity.ok(service.createDto(dto));
+		EmployeeDTO saved = service.createDto(dto);
+		versions.changed(saved.getId());
+		return ResponseEntity.ok(saved);
 	}
 
 	@GetMapping
-	public ResponseEntity<List<EmployeeDTO>> getAll() {
+	public ResponseEntity<List<EmployeeDTO>> getAll(WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
 		return ResponseEntity.ok(service.getAllList());
 	}
 
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
+		StreamingResponseBody body = out -> {
+			ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+					.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+				generator.setRootValueSeparator(null);
+				service.streamAll(dto -> {
+					try {
+						writer.writeValue(generator, dto);
+						generator.writeRaw('\n');
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	@GetMapping("/{id}")
-	public ResponseEntity<EmployeeDTO> getById(@PathVariable Long id) {
+	public ResponseEntity<EmployeeDTO> getById(@PathVariable Long id, WebRequest request) {
+		if (request.checkNotModified(versions.itemETag(id, request))) {
+			return null;
+		}
 		return ResponseEntity.ok(service.getById(id));
 	}
 
 	@GetMapping("/role/{role}")
-	public ResponseEntity<List<EmployeeDTO>> getByRole(@PathVariable String role) {
+	public ResponseEntity<List<EmployeeDTO>> getByRole(@PathVariable String role, WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
 		return ResponseEntity.ok(service.getByRole(role));
 	}
-}
\ No newline at end of file
+
+	@GetMapping("/stats")
+	public ResponseEntity<List<SalaryStatsDTO>> getSalaryStats(WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
+		return ResponseEntity.ok(service.getSalaryStats());
+	}
+
+	@GetMapping("/stats/live")
+	public ResponseEntity<List<SalaryStatsDTO>> getLiveSalaryStats(WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
+		return ResponseEntity.ok(service.getLiveSalaryStats());
+	}
+}
\ No newline at end of file
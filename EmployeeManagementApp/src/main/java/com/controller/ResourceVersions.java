@@ -0,0 +1,13 @@
+package com.controller;
+
+import org.springframework.stereotype.Component;
+
+import com.example.websupport.etag.VersionedETags;
+
+/**
+ * Version counters behind the ETags of {@link EmployeeController}. Writers call
+ * {@link #changed} after their transaction has committed.
+ */
+@Component
+public class ResourceVersions extends VersionedETags {
+}
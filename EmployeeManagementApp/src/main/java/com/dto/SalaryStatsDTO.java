@@ -0,0 +1,112 @@
+package com.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Salary figures for one role. Percentiles are only filled in by the database query;
+ * the live in-memory summary leaves them out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalaryStatsDTO {
+	private String role;
+	private long count;
+	private double sum;
+	private double average;
+	private double min;
+	private double max;
+	private Double p50;
+	private Double p90;
+	private Double p99;
+
+	public SalaryStatsDTO() {
+	}
+
+	public SalaryStatsDTO(String role, long count, double sum, double min, double max) {
+		this.role = role;
+		this.count = count;
+		this.sum = sum;
+		this.average = count == 0 ? 0 : sum / count;
+		this.min = min;
+		this.max = max;
+	}
+
+	// Used by the GROUP BY query in EmployeeRepository
+	public SalaryStatsDTO(String role, Long count, Double sum, Double min, Double max, Double p50, Double p90, Double p99) {
+		this(role, count, sum, min, max);
+		this.p50 = p50;
+		this.p90 = p90;
+		this.p99 = p99;
+	}
+
+	public String getRole() {
+		return role;
+	}
+
+	public void setRole(String role) {
+		this.role = role;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	public void setSum(double sum) {
+		this.sum = sum;
+	}
+
+	public double getAverage() {
+		return average;
+	}
+
+	public void setAverage(double average) {
+		this.average = average;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public void setMin(double min) {
+		this.min = min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public void setMax(double max) {
+		this.max = max;
+	}
+
+	public Double getP50() {
+		return p50;
+	}
+
+	public void setP50(Double p50) {
+		this.p50 = p50;
+	}
+
+	public Double getP90() {
+		return p90;
+	}
+
+	public void setP90(Double p90) {
+		this.p90 = p90;
+	}
+
+	public Double getP99() {
+		return p99;
+	}
+
+	public void setP99(Double p99) {
+		this.p99 = p99;
+	}
+}
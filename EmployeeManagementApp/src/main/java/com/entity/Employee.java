@@ -1,12 +1,18 @@
 package com.entity;
 
+import java.util.Locale;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
+@Table(indexes = @Index(name = "idx_employee_role_key", columnList = "role_key"))
 public class Employee {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,8 +22,22 @@ public class Employee {
 	private String name;
 
 	private String role;
+
+	// role in lower case, kept in step by setRole. Role lookups compare this column as is,
+	// so they seek through its index instead of applying upper() to every row
+	@Column(name = "role_key")
+	private String roleKey;
+
 	private double salary;
 
+	/**
+	 * The form a role is stored and looked up in {@code role_key}: lower case, so "Dev" and
+	 * "DEV" are the same role.
+	 */
+	public static String roleKey(String role) {
+		return role == null ? null : role.toLowerCase(Locale.ROOT);
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -40,6 +60,11 @@ public class Employee {
 
 	public void setRole(String role) {
 		this.role = role;
+		this.roleKey = roleKey(role);
+	}
+
+	public String getRoleKey() {
+		return roleKey;
 	}
 
 	public double getSalary() {
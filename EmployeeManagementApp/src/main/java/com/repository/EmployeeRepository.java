@@ -1,11 +1,55 @@
 package com.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.dto.EmployeeDTO;
+import com.dto.SalaryStatsDTO;
 import com.entity.Employee;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-	List<Employee> findByRoleIgnoreCase(String role);
+	// Read paths select the columns straight into EmployeeDTO: no managed entity, no
+	// dirty-checking snapshot, and no second copy of every row
+
+	@Query("select new com.dto.EmployeeDTO(e.id, e.name, e.role, e.salary) from Employee e")
+	List<EmployeeDTO> findAllDtos();
+
+	// Write path: holds the row until the transaction ends, so concurrent updates of one
+	// employee each read what the previous one committed
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select e from Employee e where e.id = :id")
+	Optional<Employee> findByIdForUpdate(Long id);
+
+	// roleKey is indexed; pass Employee.roleKey(role), not the role as typed
+	@Query("select new com.dto.EmployeeDTO(e.id, e.name, e.role, e.salary) from Employee e where e.roleKey = :roleKey")
+	List<EmployeeDTO> findDtosByRoleKey(String roleKey);
+
+	// Rows are pulled from the JDBC cursor in chunks while the caller consumes the stream
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+	@Query("select new com.dto.EmployeeDTO(e.id, e.name, e.role, e.salary) from Employee e")
+	Stream<EmployeeDTO> streamAllDtos();
+
+	// Salary figures per role, computed by the database in one pass; only one row per role
+	// comes back instead of every employee
+	@Query("select new com.dto.SalaryStatsDTO(e.roleKey, count(e), sum(e.salary), min(e.salary), max(e.salary), "
+			+ "percentile_cont(0.5) within group (order by e.salary), "
+			+ "percentile_cont(0.9) within group (order by e.salary), "
+			+ "percentile_cont(0.99) within group (order by e.salary)) "
+			+ "from Employee e group by e.roleKey order by e.roleKey")
+	List<SalaryStatsDTO> salaryStatsByRole();
+
+	// [roleKey, salary, employees] for every distinct salary of every role
+	@Query("select e.roleKey, e.salary, count(e) from Employee e group by e.roleKey, e.salary")
+	List<Object[]> countSalariesByRole();
 
 }
@@ -1,38 +1,106 @@
 package com.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.config.CacheConfig;
 import com.dto.EmployeeDTO;
+import com.dto.SalaryStatsDTO;
 import com.entity.Employee;
 import com.repository.EmployeeRepository;
 import com.exception.ResourceNotFoundException;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed("service.method")
 public class EmployeeService {
 	@Autowired
 	private EmployeeRepository repo;
 
+	@Autowired
+	private RoleSalarySummary salarySummary;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	/**
+	 * Saves the employee, refreshes its by-id cache entry and drops every cached role list.
+	 * Clearing all role lists is what keeps them right when an update moves an employee from
+	 * one role to another; writes are rare, so reloading a handful of role lists is cheap.
+	 * The live salary summary moves the employee's salary out of its previous role, if any,
+	 * and into the saved one. The row is locked while it is read and written, so concurrent
+	 * updates of one employee each move what the other committed. The caches and the summary
+	 * are only touched once the transaction has committed, so a failed commit leaves them as
+	 * they were.
+	 */
+	@Transactional
 	public EmployeeDTO createDto(EmployeeDTO dto) {
+		// save() copies onto the locked instance, so take its values first
+		Optional<EmployeeDTO> previous = dto.getId() == null ? Optional.empty() : repo.findByIdForUpdate(dto.getId()).map(this::toDto);
 		Employee entity = toEntity(dto);
-		Employee saved = repo.save(entity);
-		return toDto(saved);
+		EmployeeDTO saved = toDto(repo.save(entity));
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				previous.ifPresent(p -> salarySummary.remove(p.getRole(), p.getSalary()));
+				salarySummary.add(saved.getRole(), saved.getSalary());
+				cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ID).put(saved.getId(), saved);
+				cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ROLE).clear();
+			}
+		});
+		return saved;
 	}
 
+	@Transactional(readOnly = true)
 	public List<EmployeeDTO> getAllList() {
-		return repo.findAll().stream().map(this::toDto).collect(Collectors.toList());
+		return repo.findAllDtos();
 	}
 
+	/**
+	 * Hands every employee to {@code consumer} as it is read from the database. Rows are
+	 * projected into DTOs and never become managed entities, so memory stays flat no matter
+	 * how many rows there are.
+	 */
+	@Transactional(readOnly = true)
+	public void streamAll(Consumer<EmployeeDTO> consumer) {
+		try (Stream<EmployeeDTO> employees = repo.streamAllDtos()) {
+			employees.forEach(consumer);
+		}
+	}
+
+	@Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#id")
 	public EmployeeDTO getById(Long id) {
 		Employee emp = repo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
 		return toDto(emp);
 	}
 
+	// Roles are matched ignoring case, so "dev" and "DEV" share one entry
+	@Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_ROLE, key = "T(com.entity.Employee).roleKey(#role)")
+	@Transactional(readOnly = true)
 	public List<EmployeeDTO> getByRole(String role) {
-		return repo.findByRoleIgnoreCase(role).stream().map(this::toDto).collect(Collectors.toList());
+		return repo.findDtosByRoleKey(Employee.roleKey(role));
+	}
+
+	/** Count, sum, average, min, max and percentiles of salaries per role, computed by the database. */
+	@Transactional(readOnly = true)
+	public List<SalaryStatsDTO> getSalaryStats() {
+		return repo.salaryStatsByRole();
+	}
+
+	/** The same figures without percentiles, read from the in-memory summary without a query. */
+	public List<SalaryStatsDTO> getLiveSalaryStats() {
+		return salarySummary.all();
 	}
 
 	private EmployeeDTO toDto(Employee e) {
@@ -0,0 +1,120 @@
+package com.service;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.dto.SalaryStatsDTO;
+import com.entity.Employee;
+import com.repository.EmployeeRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Count, sum, average, min and max of salaries per role, kept in memory and adjusted by
+ * {@link EmployeeService#createDto} on every write, so reading them is a map lookup instead
+ * of a query. Loaded from the database once at startup.
+ *
+ * <p>Each role keeps how many employees earn each distinct salary, which is what lets min
+ * and max be corrected when an employee moves to another role. Writes that bypass
+ * EmployeeService (SQL scripts, other instances) are not seen until the next restart; the
+ * database-side {@code /api/employees/stats} is always exact.
+ *
+ * <p>Changes are applied after their transaction commits, when the row lock is already
+ * released, so the removal of a salary can arrive before the add it undoes. Adds and removals
+ * therefore only move counts, which gives the same totals in any order. The sum is kept as a
+ * {@link BigDecimal} so that a removal takes back exactly what its add put in.
+ */
+@Component
+public class RoleSalarySummary {
+	// ConcurrentHashMap has no null keys; employees without a role are kept under this one
+	private static final String NO_ROLE = "";
+
+	@Autowired
+	private EmployeeRepository repo;
+
+	private final Map<String, RoleTotals> roles = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void load() {
+		for (Object[] row : repo.countSalariesByRole()) {
+			add((String) row[0], ((Number) row[1]).doubleValue(), ((Number) row[2]).longValue());
+		}
+	}
+
+	public void add(String role, double salary) {
+		add(Employee.roleKey(role), salary, 1);
+	}
+
+	public void remove(String role, double salary) {
+		add(Employee.roleKey(role), salary, -1);
+	}
+
+	/** Every role, ordered by role. */
+	public List<SalaryStatsDTO> all() {
+		return roles.values().stream()
+				.map(totals -> totals.snapshot)
+				.filter(Objects::nonNull)
+				.sorted(Comparator.comparing(SalaryStatsDTO::getRole, Comparator.nullsFirst(Comparator.naturalOrder())))
+				.toList();
+	}
+
+	private void add(String roleKey, double salary, long employees) {
+		roles.compute(key(roleKey), (key, totals) -> {
+			RoleTotals updated = totals != null ? totals : new RoleTotals(roleKey);
+			// Drop the role once nobody is left in it
+			return updated.add(salary, employees) ? updated : null;
+		});
+	}
+
+	private static String key(String roleKey) {
+		return roleKey == null ? NO_ROLE : roleKey;
+	}
+
+	/** Only modified inside ConcurrentHashMap.compute, which serializes writes per role. */
+	private static final class RoleTotals {
+		private final String role;
+		private final TreeMap<Double, Long> employeesBySalary = new TreeMap<>();
+		private long count;
+		private BigDecimal sum = BigDecimal.ZERO;
+		// Rebuilt on every write, so readers never see a half-applied update; null while only
+		// removals whose adds haven't arrived yet are left
+		private volatile SalaryStatsDTO snapshot;
+
+		RoleTotals(String role) {
+			this.role = role;
+		}
+
+		/**
+		 * Adds {@code employees} earning {@code salary}, or removes them when negative. A
+		 * salary's count may dip below zero until the add a removal undoes arrives. Returns
+		 * false once no salary has a count left.
+		 */
+		boolean add(double salary, long employees) {
+			employeesBySalary.merge(salary, employees, (current, delta) -> current + delta == 0 ? null : current + delta);
+			count += employees;
+			sum = sum.add(BigDecimal.valueOf(salary).multiply(BigDecimal.valueOf(employees)));
+			if (employeesBySalary.isEmpty()) {
+				return false;
+			}
+			publish();
+			return true;
+		}
+
+		private void publish() {
+			// A count below zero is a removal that came before its add, not anyone earning that salary
+			Double min = employeesBySalary.entrySet().stream()
+					.filter(entry -> entry.getValue() > 0).map(Map.Entry::getKey).findFirst().orElse(null);
+			Double max = employeesBySalary.descendingMap().entrySet().stream()
+					.filter(entry -> entry.getValue() > 0).map(Map.Entry::getKey).findFirst().orElse(null);
+			snapshot = min == null ? null : new SalaryStatsDTO(role, count, sum.doubleValue(), min, max);
+		}
+	}
+}
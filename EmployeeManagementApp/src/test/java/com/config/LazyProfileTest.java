@@ -0,0 +1,43 @@
+package com.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.controller.EmployeeController;
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+import com.service.EmployeeService;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("lazy")
+public class LazyProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void testOnlyTheApiDocsWaitForTheirFirstRequest() throws Exception {
+        String docs = beanFactory.getBeanNamesForType(OpenApiWebMvcResource.class, false, false)[0];
+        assertThat(beanFactory.containsSingleton(docs)).isFalse();
+        assertThat(beanFactory.containsSingleton("customOpenAPI")).isFalse();
+        assertThat(beanFactory.containsSingleton(beanFactory.getBeanNamesForType(EmployeeController.class)[0])).isTrue();
+        assertThat(beanFactory.containsSingleton(beanFactory.getBeanNamesForType(EmployeeService.class)[0])).isTrue();
+
+        mockMvc.perform(get("/v3/api-docs")).andExpect(status().isOk());
+        assertThat(beanFactory.containsSingleton(docs)).isTrue();
+        assertThat(beanFactory.containsSingleton("customOpenAPI")).isTrue();
+    }
+}
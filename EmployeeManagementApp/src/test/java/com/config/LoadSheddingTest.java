@@ -0,0 +1,66 @@
+package com.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class, properties = {
+        "employee.concurrency-limit.enabled=true",
+        "employee.rate-limit.enabled=true",
+        "employee.rate-limit.capacity=5",
+        "employee.rate-limit.refill-per-second=0.5" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class LoadSheddingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testFloodOfListRequestsIsRateLimitedPerClient() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/employees").with(client("10.0.0.1"))).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/employees").with(client("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        // Other clients, other endpoints and actuator are unaffected
+        mockMvc.perform(get("/api/employees").with(client("10.0.0.2"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/stats").with(client("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health").with(client("10.0.0.1"))).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.rate_limit.rejected").tag("uri", "/api/employees")
+                .tag("method", "GET").counter().count()).isEqualTo(1);
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape).contains("http_server_rate_limit_rejected_total{method=\"GET\",uri=\"/api/employees\"} 1.0")
+                .contains("http_server_concurrency_limit ")
+                .contains("http_server_concurrency_inflight ")
+                .contains("http_server_concurrency_latency_seconds{window=\"baseline\"}");
+    }
+
+    private static RequestPostProcessor client(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import com.dto.EmployeeDTO;
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.service.EmployeeService;
+
+/**
+ * Runs against a real Tomcat, since gzip is applied by the connector and never shows up in
+ * MockMvc.
+ */
+@SpringBootTest(classes = EmployeeManagementAppApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PayloadFormatTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long smallEmployeeId;
+
+    @BeforeEach
+    void seedEnoughEmployeesToPassTheThreshold() {
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < 40; i++) {
+            EmployeeDTO saved = service.createDto(new EmployeeDTO(null, "Payload " + run + " " + i, "Developer", 50000 + i));
+            smallEmployeeId = saved.getId();
+        }
+    }
+
+    @Test
+    void testLargeListsAreGzippedAndSmallBodiesAreNot() throws Exception {
+        HttpResponse<byte[]> list = get("/api/employees", "application/json", true);
+        assertThat(list.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        EmployeeDTO[] employees = objectMapper.readValue(new GZIPInputStream(new ByteArrayInputStream(list.body())), EmployeeDTO[].class);
+        assertThat(employees.length).isGreaterThanOrEqualTo(40);
+
+        HttpResponse<byte[]> item = get("/api/employees/" + smallEmployeeId, "application/json", true);
+        assertThat(item.statusCode()).isEqualTo(200);
+        assertThat(item.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+
+    @Test
+    void testCborAndSmileAreNegotiatedThroughAccept() throws Exception {
+        HttpResponse<byte[]> json = get("/api/employees", "application/json", false);
+        EmployeeDTO[] expected = objectMapper.readValue(json.body(), EmployeeDTO[].class);
+
+        HttpResponse<byte[]> cbor = get("/api/employees", "application/cbor", false);
+        assertThat(cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE)).contains("application/cbor");
+        assertThat(new CBORMapper().readValue(cbor.body(), EmployeeDTO[].class))
+                .usingRecursiveFieldByFieldElementComparator().containsExactly(expected);
+
+        HttpResponse<byte[]> smile = get("/api/employees", "application/x-jackson-smile", false);
+        assertThat(smile.headers().firstValue(HttpHeaders.CONTENT_TYPE)).contains("application/x-jackson-smile");
+        assertThat(new SmileMapper().readValue(smile.body(), EmployeeDTO[].class))
+                .usingRecursiveFieldByFieldElementComparator().containsExactly(expected);
+        assertThat(smile.body().length).isLessThan(json.body().length);
+
+        // Each format has its own tag, so a cached JSON body is never revalidated for a CBOR request
+        assertThat(cbor.headers().firstValue(HttpHeaders.ETAG)).isNotEqualTo(json.headers().firstValue(HttpHeaders.ETAG));
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
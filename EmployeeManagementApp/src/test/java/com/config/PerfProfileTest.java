@@ -0,0 +1,69 @@
+package com.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("perf")
+public class PerfProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testPoolIsFixedAndSqlLoggingAndOpenInViewAreOff() throws Exception {
+        HikariDataSource pool = (HikariDataSource) dataSource;
+        assertThat(pool.getMinimumIdle()).isEqualTo(pool.getMaximumPoolSize());
+        assertThat(pool.getConnectionTimeout()).isEqualTo(2000);
+        assertThat(pool.getJdbcUrl()).contains("QUERY_CACHE_SIZE=64");
+        assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+        assertThat(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getSqlStatementLogger().isLogToStdout()).isFalse();
+
+        // Without open-in-view every endpoint has to finish its reads inside the service
+        mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/stats")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testPoolSaturationIsScraped() throws Exception {
+        mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape).contains("hikaricp_connections_active{pool=\"employees\"}")
+                .contains("hikaricp_connections_idle{pool=\"employees\"}")
+                .contains("hikaricp_connections_pending{pool=\"employees\"}")
+                .containsPattern("hikaricp_connections_acquire_seconds\\{pool=\"employees\",quantile=\"0.99\"}");
+    }
+}
@@ -0,0 +1,75 @@
+package com.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class RequestMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRecordsQueriesPayloadSizesAndServiceTimings() throws Exception {
+        String body = "{\"name\":\"Roja\",\"role\":\"Developer\",\"salary\":80000}";
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.db.queries").tag("uri", "/api/employees").tag("method", "GET")
+                .summary().max()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("http.server.request.size").tag("method", "POST").summary().totalAmount())
+                .isEqualTo(body.length());
+        assertThat(meterRegistry.get("http.server.response.size").tag("uri", "/api/employees").tag("method", "GET")
+                .summary().totalAmount()).isPositive();
+        assertThat(meterRegistry.get("service.method").tag("class", "com.service.EmployeeService")
+                .tag("method", "getAllList").timer().count()).isEqualTo(1);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape).containsPattern("http_server_requests_seconds\\{.*uri=\"/api/employees\",quantile=\"0.999\"}")
+                .containsPattern("service_method_seconds\\{.*method=\"getAllList\",quantile=\"0.99\"}")
+                .containsPattern("http_server_db_queries\\{method=\"GET\",uri=\"/api/employees\",quantile=\"0.5\"}");
+    }
+
+    @Test
+    void testCountsQueriesOfStreamedResponses() throws Exception {
+        double before = queries("/api/employees");
+        MvcResult stream = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(stream)).andExpect(status().isOk());
+
+        // The rows are read on the async executor's thread, after the filter has returned
+        assertThat(queries("/api/employees") - before).isGreaterThanOrEqualTo(1);
+    }
+
+    private double queries(String uri) {
+        DistributionSummary summary = meterRegistry.find("http.server.db.queries").tag("uri", uri).tag("method", "GET")
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -1,22 +1,38 @@
 
 package com.employeeManagementApp.EmployeeManagementApp;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.controller.EmployeeController;
 import com.dto.EmployeeDTO;
+import com.dto.SalaryStatsDTO;
 import com.service.EmployeeService;
 
 @SpringBootTest
@@ -40,4 +56,66 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].name").value("Roja"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamAllEmployeesAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<EmployeeDTO> consumer = invocation.getArgument(0);
+            consumer.accept(new EmployeeDTO(1L, "Roja", "Dev", 70000));
+            consumer.accept(new EmployeeDTO(2L, "Ravi", "QA", 60000));
+            return null;
+        }).when(service).streamAll(any());
+
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Roja\",\"role\":\"Dev\",\"salary\":70000.0}\n"
+                                + "{\"id\":2,\"name\":\"Ravi\",\"role\":\"QA\",\"salary\":60000.0}\n"));
+    }
+
+    @Test
+    void testSalaryStatsByRole() throws Exception {
+        when(service.getSalaryStats()).thenReturn(
+                List.of(new SalaryStatsDTO("dev", 2L, 150000.0, 70000.0, 80000.0, 75000.0, 79000.0, 79900.0)));
+        when(service.getLiveSalaryStats()).thenReturn(List.of(new SalaryStatsDTO("dev", 2, 150000, 70000, 80000)));
+
+        mockMvc.perform(get("/api/employees/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].role").value("dev"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].average").value(75000.0))
+                .andExpect(jsonPath("$[0].p99").value(79900.0));
+        mockMvc.perform(get("/api/employees/stats/live"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].max").value(80000.0))
+                .andExpect(jsonPath("$[0]", not(hasKey("p50"))));
+    }
+
+    @Test
+    void testConditionalGetSkipsServiceUntilAWrite() throws Exception {
+        EmployeeDTO roja = new EmployeeDTO(1L, "Roja", "Dev", 70000);
+        when(service.getAllList()).thenReturn(List.of(roja));
+        when(service.createDto(any())).thenReturn(roja);
+
+        String etag = mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(service, times(1)).getAllList();
+
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":1,\"name\":\"Roja\",\"role\":\"Lead\",\"salary\":90000}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        verify(service, times(2)).getAllList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dto.EmployeeDTO;
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+import com.entity.Employee;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class)
+public class EmployeeRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testRoleLookupIgnoresCase() {
+        Employee employee = new Employee();
+        employee.setName("Kiran");
+        employee.setRole("Site Reliability");
+        repository.save(employee);
+
+        List<EmployeeDTO> found = repository.findDtosByRoleKey(Employee.roleKey("SITE reliability"));
+
+        assertThat(found).extracting(EmployeeDTO::getRole).containsExactly("Site Reliability");
+    }
+
+    @Test
+    void testRoleLookupSeeksThroughTheRoleIndex() {
+        // The statement findDtosByRoleKey runs: the DTO's columns, filtered on role_key
+        String plan = jdbc.queryForObject("explain select e.id, e.name, e.role, e.salary from employee e where e.role_key = ?",
+                String.class, "developer");
+
+        assertThat(plan).containsIgnoringCase("idx_employee_role_key").doesNotContainIgnoringCase("tableScan");
+    }
+}
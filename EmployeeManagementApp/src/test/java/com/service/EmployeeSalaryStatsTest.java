@@ -0,0 +1,152 @@
+package com.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.dto.EmployeeDTO;
+import com.dto.SalaryStatsDTO;
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class)
+public class EmployeeSalaryStatsTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Test
+    void testDatabaseAndLiveStatsAgreeAcrossARoleChange() {
+        // Other test classes share the in-memory database; unique roles keep these figures apart
+        String alpha = "Alpha " + UUID.randomUUID();
+        String beta = "Beta " + UUID.randomUUID();
+        service.createDto(new EmployeeDTO(null, "A1", alpha, 100));
+        service.createDto(new EmployeeDTO(null, "A2", alpha, 200));
+        service.createDto(new EmployeeDTO(null, "A3", alpha.toUpperCase(), 300));
+        EmployeeDTO moving = service.createDto(new EmployeeDTO(null, "A4", alpha, 400));
+
+        SalaryStatsDTO stats = find(service.getSalaryStats(), alpha);
+        assertThat(stats.getCount()).isEqualTo(4);
+        assertThat(stats.getSum()).isEqualTo(1000);
+        assertThat(stats.getAverage()).isEqualTo(250);
+        assertThat(stats.getMin()).isEqualTo(100);
+        assertThat(stats.getMax()).isEqualTo(400);
+        assertThat(stats.getP50()).isEqualTo(250);
+        assertThat(stats.getP99()).isBetween(397.0, 400.0);
+        assertLiveMatches(stats, alpha);
+
+        service.createDto(new EmployeeDTO(moving.getId(), "A4", beta, 450));
+
+        SalaryStatsDTO alphaAfter = find(service.getSalaryStats(), alpha);
+        assertThat(alphaAfter.getCount()).isEqualTo(3);
+        assertThat(alphaAfter.getMax()).isEqualTo(300);
+        assertLiveMatches(alphaAfter, alpha);
+        SalaryStatsDTO betaAfter = find(service.getSalaryStats(), beta);
+        assertThat(betaAfter.getCount()).isEqualTo(1);
+        assertThat(betaAfter.getMin()).isEqualTo(450);
+        assertLiveMatches(betaAfter, beta);
+    }
+
+    @Test
+    void testConcurrentUpdatesOfOneEmployeeKeepLiveStatsExact() throws Exception {
+        String alpha = "Alpha " + UUID.randomUUID();
+        String beta = "Beta " + UUID.randomUUID();
+        service.createDto(new EmployeeDTO(null, "Steady", alpha, 50));
+        service.createDto(new EmployeeDTO(null, "Steady", beta, 60));
+        long id = service.createDto(new EmployeeDTO(null, "Contended", alpha, 100)).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                int w = writer;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        service.createDto(new EmployeeDTO(id, "Contended", i % 2 == 0 ? alpha : beta, 100 + w * 25 + i));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertLiveMatches(find(service.getSalaryStats(), alpha), alpha);
+        assertLiveMatches(find(service.getSalaryStats(), beta), beta);
+        assertThat(find(service.getLiveSalaryStats(), alpha).getCount()
+                + find(service.getLiveSalaryStats(), beta).getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testLiveSumStaysExactThroughConcurrentAddsAndRemoves() throws Exception {
+        String role = "Gamma " + UUID.randomUUID();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(service.createDto(new EmployeeDTO(null, "Churn " + i, role, 1000)).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                int w = writer;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        // Cents have no exact binary form, so each add and remove rounds
+                        service.createDto(new EmployeeDTO(ids.get(w % 4), "Churn", role, 1000.01 + w * 7.13 + i * 0.37));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        // Final salaries the database can also sum without rounding
+        for (int i = 0; i < 4; i++) {
+            service.createDto(new EmployeeDTO(ids.get(i), "Churn " + i, role, 1000.25 * (i + 1)));
+        }
+
+        SalaryStatsDTO stats = find(service.getSalaryStats(), role);
+        assertThat(stats.getSum()).isEqualTo(10002.5);
+        assertLiveMatches(stats, role);
+    }
+
+    @Test
+    void testRemovalAheadOfItsAddIsLeftOutOfMinAndMax() {
+        RoleSalarySummary summary = new RoleSalarySummary();
+        summary.remove("Dev", 10);
+        assertThat(summary.all()).isEmpty();
+
+        summary.add("Dev", 50);
+        summary.add("Dev", 70);
+        SalaryStatsDTO stats = summary.all().get(0);
+        assertThat(stats.getMin()).isEqualTo(50);
+        assertThat(stats.getMax()).isEqualTo(70);
+
+        summary.add("Dev", 10);
+        assertThat(summary.all().get(0).getCount()).isEqualTo(2);
+        assertThat(summary.all().get(0).getSum()).isEqualTo(120);
+    }
+
+    private void assertLiveMatches(SalaryStatsDTO expected, String role) {
+        SalaryStatsDTO live = find(service.getLiveSalaryStats(), role);
+        assertThat(live).usingRecursiveComparison().ignoringFields("p50", "p90", "p99").isEqualTo(expected);
+        assertThat(live.getP50()).isNull();
+    }
+
+    private static SalaryStatsDTO find(List<SalaryStatsDTO> stats, String role) {
+        return stats.stream().filter(s -> role.toLowerCase().equals(s.getRole())).findFirst().orElseThrow();
+    }
+}
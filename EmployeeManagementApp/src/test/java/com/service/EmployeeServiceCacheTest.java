@@ -0,0 +1,111 @@
+package com.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.config.CacheConfig;
+import com.dto.EmployeeDTO;
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+import com.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class)
+public class EmployeeServiceCacheTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @SpyBean
+    private EmployeeRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(repository);
+    }
+
+    @Test
+    void testGetByIdReadsThroughOnce() {
+        EmployeeDTO saved = service.createDto(new EmployeeDTO(null, "Roja", "Developer", 80000));
+        cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ID).clear();
+
+        service.getById(saved.getId());
+        service.getById(saved.getId());
+
+        verify(repository, times(1)).findById(saved.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.EMPLOYEES_BY_ID).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void testCreateRefreshesByIdEntry() {
+        EmployeeDTO saved = service.createDto(new EmployeeDTO(null, "Ravi", "Tester", 50000));
+        service.createDto(new EmployeeDTO(saved.getId(), "Ravi Kumar", "Tester", 55000));
+
+        assertThat(service.getById(saved.getId()).getName()).isEqualTo("Ravi Kumar");
+        verify(repository, times(0)).findById(saved.getId());
+    }
+
+    @Test
+    void testRoleChangeInvalidatesBothRoleLists() {
+        EmployeeDTO saved = service.createDto(new EmployeeDTO(null, "Anu", "Analyst", 60000));
+        assertThat(service.getByRole("analyst")).extracting(EmployeeDTO::getId).contains(saved.getId());
+        assertThat(service.getByRole("ARCHITECT")).extracting(EmployeeDTO::getId).doesNotContain(saved.getId());
+
+        service.createDto(new EmployeeDTO(saved.getId(), "Anu", "Architect", 90000));
+
+        assertThat(service.getByRole("Analyst")).extracting(EmployeeDTO::getId).doesNotContain(saved.getId());
+        assertThat(service.getByRole("architect")).extracting(EmployeeDTO::getId).contains(saved.getId());
+        // Each role list was loaded once before and once after the write, whatever the case of the role
+        verify(repository, times(4)).findDtosByRoleKey(anyString());
+    }
+
+    @Test
+    void testFailedCommitLeavesTheCachesAlone() {
+        EmployeeDTO saved = service.createDto(new EmployeeDTO(null, "Meena", "Designer", 70000));
+        assertThat(service.getById(saved.getId()).getName()).isEqualTo("Meena");
+        assertThat(service.getByRole("designer")).extracting(EmployeeDTO::getName).contains("Meena");
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            service.createDto(new EmployeeDTO(saved.getId(), "Meena Rao", "Designer", 75000));
+            // Fails the commit after createDto has returned, as a constraint checked on commit would
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    throw new IllegalStateException("commit failed");
+                }
+            });
+        })).hasMessage("commit failed");
+
+        assertThat(service.getById(saved.getId()).getName()).isEqualTo("Meena");
+        assertThat(service.getByRole("designer")).extracting(EmployeeDTO::getName).doesNotContain("Meena Rao");
+        // The role list cached before the failed write is still there
+        verify(repository, times(1)).findDtosByRoleKey(anyString());
+    }
+}
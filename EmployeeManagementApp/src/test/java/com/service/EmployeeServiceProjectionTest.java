@@ -0,0 +1,54 @@
+package com.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import com.dto.EmployeeDTO;
+import com.employeeManagementApp.EmployeeManagementApp.EmployeeManagementAppApplication;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(classes = EmployeeManagementAppApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EmployeeServiceProjectionTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testListReadsProjectWithoutLoadingEntities() {
+        EmployeeDTO saved = service.createDto(new EmployeeDTO(null, "Meena", "Projectionist", 70000));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long loadsBefore = statistics.getEntityLoadCount();
+
+        List<EmployeeDTO> all = service.getAllList();
+        List<EmployeeDTO> byRole = service.getByRole("PROJECTIONIST");
+        List<EmployeeDTO> streamed = new ArrayList<>();
+        service.streamAll(streamed::add);
+
+        assertThat(statistics.getEntityLoadCount() - loadsBefore).isZero();
+        assertThat(all).extracting(EmployeeDTO::getId).contains(saved.getId());
+        assertThat(streamed).extracting(EmployeeDTO::getId).contains(saved.getId());
+        assertThat(byRole).singleElement().satisfies(dto -> {
+            assertThat(dto.getName()).isEqualTo("Meena");
+            assertThat(dto.getRole()).isEqualTo("Projectionist");
+            assertThat(dto.getSalary()).isEqualTo(70000);
+        });
+    }
+}
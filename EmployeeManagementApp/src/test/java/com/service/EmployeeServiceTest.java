@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
@@ -12,7 +13,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.config.CacheConfig;
 import com.dto.EmployeeDTO;
 import com.entity.Employee;
 import com.repository.EmployeeRepository;
@@ -23,6 +29,18 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository repository;
 
+    @Mock
+    private RoleSalarySummary salarySummary;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache byId;
+
+    @Mock
+    private Cache byRole;
+
     @InjectMocks
     private EmployeeService service;
 
@@ -35,11 +53,26 @@ public class EmployeeServiceTest {
         emp.setSalary(80000);
 
         when(repository.save(any(Employee.class))).thenReturn(emp);
+        when(cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ID)).thenReturn(byId);
+        when(cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ROLE)).thenReturn(byRole);
 
         EmployeeDTO dto = new EmployeeDTO(null, "Roja", "Developer", 80000);
-        EmployeeDTO saved = service.createDto(dto);
+        EmployeeDTO saved;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            saved = service.createDto(dto);
+            // The salary summary and the caches only move once the transaction has committed
+            verify(salarySummary, never()).add("Developer", 80000);
+            verify(byId, never()).put(any(), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
 
         assertThat(saved.getName()).isEqualTo("Roja");
         verify(repository, times(1)).save(any(Employee.class));
+        verify(salarySummary).add("Developer", 80000);
+        verify(byId).put(1L, saved);
+        verify(byRole).clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Load-tests todoapp and EmployeeManagementApp twice each: once on the default settings
+# and once with the perf profile (application-perf.properties: fixed Hikari pool, H2
+# statement cache, open-in-view and SQL logging off). The server is pinned to the same
+# CPUs for both runs and driven by TodoStackBenchmark from todoapp-reactive.
+# One JSON line per app, profile and endpoint is appended to benchmark-results/jdbc-profiles.jsonl.
+# Server logs go next to it; benchmark-results/ is git-ignored, record numbers worth keeping in the README.
+#
+# Usage: ./compare-profiles.sh
+#   SERVER_CPUS=0-1 CLIENT_CPUS=2-3 ./compare-profiles.sh   # taskset CPU lists (default: server on 0, client unpinned)
+#   CONNECTIONS=256 MEASURE_SECONDS=30 ./compare-profiles.sh   # keep-alive connections and measured seconds
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")" && pwd)"
+OUT="$ROOT/benchmark-results"
+SERVER_CPUS="${SERVER_CPUS:-0}"
+CORES="$(taskset -c "$SERVER_CPUS" nproc)"
+CONNECTIONS="${CONNECTIONS:-64}"
+SECONDS_MEASURED="${MEASURE_SECONDS:-20}"
+PORT=8080
+mkdir -p "$OUT"
+
+client() {
+    if [ -n "${CLIENT_CPUS:-}" ]; then
+        taskset -c "$CLIENT_CPUS" "$@"
+    else
+        "$@"
+    fi
+}
+
+(cd "$ROOT/web-support" && sh mvnw -q -B -DskipTests install)
+(cd "$ROOT/todoapp/todoapp" && sh mvnw -q -B -DskipTests package)
+(cd "$ROOT/EmployeeManagementApp" && sh mvnw -q -B -DskipTests package)
+(cd "$ROOT/todoapp/todoapp-reactive" && sh mvnw -q -B -DskipTests test-compile)
+
+seed_todos() {
+    local batch="[" i
+    for i in $(seq 1 1000); do
+        batch+="{\"title\":\"Weekly report $i\",\"completed\":false},"
+    done
+    curl -s -o /dev/null -H 'Content-Type: application/json' -d "${batch%,}]" "http://localhost:$PORT/api/todos/batch"
+}
+
+seed_employees() {
+    local i
+    for i in $(seq 1 500); do
+        curl -s -o /dev/null -H 'Content-Type: application/json' \
+            -d "{\"name\":\"Employee $i\",\"role\":\"Role $((i % 10))\",\"salary\":$((30000 + i * 100))}" \
+            "http://localhost:$PORT/api/employees"
+    done
+}
+
+# run <app> <jar> <seed function> <endpoint>...
+run() {
+    local app="$1" jar="$2" seed="$3" profile endpoint pid
+    shift 3
+    for profile in default perf; do
+        # Load shedding off: the closed-loop client would otherwise measure how fast 503s are
+        # answered instead of the pool and statement settings of the two profiles
+        taskset -c "$SERVER_CPUS" java -jar "$jar" --server.port="$PORT" --spring.profiles.active="$profile" \
+            --todo.concurrency-limit.enabled=false --employee.concurrency-limit.enabled=false \
+            > "$OUT/$app-$profile.log" 2>&1 &
+        pid=$!
+        trap "kill $pid 2>/dev/null" EXIT
+        until curl -s -o /dev/null "http://localhost:$PORT/actuator/health"; do sleep 1; done
+        "$seed"
+
+        for endpoint in "$@"; do
+            echo "== $app ($profile) $endpoint"
+            client java -cp "$ROOT/todoapp/todoapp-reactive/target/test-classes" com.example.todoapp.reactive.benchmark.TodoStackBenchmark \
+                "$app-$profile" "http://localhost:$PORT$endpoint" "$CONNECTIONS" "$SECONDS_MEASURED" "$CORES" | tee -a "$OUT/jdbc-profiles.jsonl"
+        done
+        # Pool saturation at the end of the run: connections in use, idle, and requests waiting for one
+        curl -s "http://localhost:$PORT/actuator/prometheus" | grep -E '^hikaricp_connections_(active|idle|pending|acquire_seconds_max)' || true
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        trap - EXIT
+    done
+}
+
+run todoapp "$ROOT/todoapp/todoapp/target/todoapp-0.0.1-SNAPSHOT.jar" seed_todos \
+    "/api/todos/cursor?limit=20" "/api/todos/page?page=10&size=20"
+run employees "$ROOT/EmployeeManagementApp/target/EmployeeManagementApp-0.0.1-SNAPSHOT.jar" seed_employees \
+    "/api/employees" "/api/employees/stats"
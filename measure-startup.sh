@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request of all three apps in four modes:
+#   jar           the plain executable jar (java -jar)
+#   lazy          the plain jar with the lazy profile (API docs created on first use)
+#   aot-cds       the aot profile's jar, unpacked, started from a CDS archive (as Dockerfile.aot does)
+#   aot-cds-lazy  aot-cds with the lazy profile
+# Each mode is started RUNS times; a run is timed from launching the JVM to the first 200 from
+# an API endpoint. The RSS after that request and Spring's own "Started ... in" time are
+# recorded too. One JSON line per app and mode is appended to benchmark-results/startup.jsonl.
+# Startup and training logs go next to it; benchmark-results/ is git-ignored.
+#
+# Usage: ./measure-startup.sh
+#   RUNS=5 ./measure-startup.sh        # starts per mode (default: 3), the median is reported
+#   SERVER_CPUS=0-1 ./measure-startup.sh   # taskset CPU list for the apps (default: unpinned)
+#
+# student-api needs a Java 21 JDK; the other apps build with Java 17 or newer. Set
+# JAVA21_HOME to run student-api with a different JDK than JAVA_HOME. The CDS archive is
+# only valid for the JVM that wrote it, so it is created with the same JDK that runs the app.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")" && pwd)"
+OUT="$ROOT/benchmark-results"
+RUNS="${RUNS:-3}"
+PORT="${PORT:-8080}"
+mkdir -p "$OUT"
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# start <log> <endpoint> <java command...>: prints "<first request ms> <rss kB>"
+start() {
+    local log="$1" endpoint="$2" begin pid elapsed rss
+    shift 2
+    begin=$(date +%s%N)
+    if [ -n "${SERVER_CPUS:-}" ]; then
+        taskset -c "$SERVER_CPUS" "$@" --server.port="$PORT" > "$log" 2>&1 &
+    else
+        "$@" --server.port="$PORT" > "$log" 2>&1 &
+    fi
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT$endpoint"; do
+        kill -0 "$pid" 2>/dev/null || { echo "startup failed, see $log" >&2; exit 1; }
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - begin) / 1000000 ))
+    rss=$(awk '/^VmRSS/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+# measure <app> <mode> <endpoint> <java command...>
+measure() {
+    local app="$1" mode="$2" endpoint="$3" run result first=() rss=() started=()
+    shift 3
+    for run in $(seq 1 "$RUNS"); do
+        result=$(start "$OUT/$app-startup.log" "$endpoint" "$@")
+        first+=("${result% *}")
+        rss+=("${result#* }")
+        started+=("$(grep -o 'Started .* in [0-9.]* seconds' "$OUT/$app-startup.log" | grep -o '[0-9.]* seconds' | awk '{ print int($1 * 1000) }')")
+    done
+    printf '{"app":"%s","mode":"%s","endpoint":"%s","runs":%d,"firstRequestMs":%d,"startedMs":%d,"rssKb":%d,"firstRequestMsPerRun":[%s]}\n' \
+        "$app" "$mode" "$endpoint" "$RUNS" \
+        "$(printf '%s\n' "${first[@]}" | median)" "$(printf '%s\n' "${started[@]}" | median)" \
+        "$(printf '%s\n' "${rss[@]}" | median)" "$(IFS=,; echo "${first[*]}")" | tee -a "$OUT/startup.jsonl"
+}
+
+# run <app> <dir> <jar name> <java home> <endpoint>
+run() {
+    local app="$1" dir="$2" jar="$3" java_home="$4" endpoint="$5"
+    local java="${java_home:+$java_home/bin/}java" work="$dir/target/startup"
+    rm -rf "$work"
+    mkdir -p "$work"
+
+    echo "== $app: building"
+    (cd "$dir" && JAVA_HOME="$java_home" sh mvnw -q -B -DskipTests package)
+    cp "$dir/target/$jar" "$work/plain.jar"
+    (cd "$dir" && JAVA_HOME="$java_home" sh mvnw -q -B -Paot -DskipTests package)
+    "$java" -Djarmode=tools -jar "$dir/target/$jar" extract --destination "$work/aot"
+    # Training run, the same one Dockerfile.aot runs
+    "$java" -XX:ArchiveClassesAtExit="$work/aot/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -jar "$work/aot/$jar" > "$OUT/$app-training.log" 2>&1
+
+    measure "$app" jar "$endpoint" "$java" -jar "$work/plain.jar"
+    measure "$app" lazy "$endpoint" "$java" -jar "$work/plain.jar" --spring.profiles.active=lazy
+    measure "$app" aot-cds "$endpoint" "$java" -XX:SharedArchiveFile="$work/aot/app.jsa" -Dspring.aot.enabled=true \
+        -jar "$work/aot/$jar"
+    measure "$app" aot-cds-lazy "$endpoint" "$java" -XX:SharedArchiveFile="$work/aot/app.jsa" -Dspring.aot.enabled=true \
+        -jar "$work/aot/$jar" --spring.profiles.active=lazy
+}
+
+# The apps depend on the shared web-support module
+(cd "$ROOT/web-support" && sh mvnw -q -B -DskipTests install)
+
+run student-api "$ROOT/student-api" student-api-0.0.1-SNAPSHOT.jar "${JAVA21_HOME:-${JAVA_HOME:-}}" /api/students
+run employees "$ROOT/EmployeeManagementApp" EmployeeManagementApp-0.0.1-SNAPSHOT.jar "${JAVA_HOME:-}" /api/employees
+run todoapp "$ROOT/todoapp/todoapp" todoapp-0.0.1-SNAPSHOT.jar "${JAVA_HOME:-}" /api/todos
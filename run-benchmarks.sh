@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Runs the JMH benchmarks of all three apps once per thread count and collects the
+# JSON results in benchmark-results/<app>-t<threads>.json, one file per run, so they
+# can be diffed or loaded into a regression tracker between releases.
+#
+# Usage: ./run-benchmarks.sh [jmh options...]
+#   THREADS="1 4 16" ./run-benchmarks.sh              # thread counts to run (default: 1 4 16)
+#   ./run-benchmarks.sh -p size=10000                 # extra options are passed to JMH
+#
+# student-api needs a Java 21 JDK; the other apps build with Java 17 or newer. Set
+# JAVA21_HOME to run student-api with a different JDK than JAVA_HOME.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")" && pwd)"
+OUT="$ROOT/benchmark-results"
+mkdir -p "$OUT"
+
+run() {
+    local app="$1" dir="$2" java_home="$3"
+    shift 3
+    for threads in ${THREADS:-1 4 16}; do
+        echo "== $app, $threads thread(s)"
+        (cd "$dir" && JAVA_HOME="$java_home" sh mvnw -q -B -Pbenchmark -DskipTests verify \
+            -Djmh.args="-t $threads $* -rf json -rff $OUT/$app-t$threads.json")
+    done
+}
+
+# The apps depend on the shared web-support module
+(cd "$ROOT/web-support" && sh mvnw -q -B -DskipTests install)
+
+run student-api "$ROOT/student-api" "${JAVA21_HOME:-${JAVA_HOME:-}}" "$@"
+run employee "$ROOT/EmployeeManagementApp" "${JAVA_HOME:-}" "$@"
+run todoapp "$ROOT/todoapp/todoapp" "${JAVA_HOME:-}" "$@"
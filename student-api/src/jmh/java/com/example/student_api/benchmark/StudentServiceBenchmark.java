@@ -0,0 +1,82 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.model.Student;
+import com.example.student_api.persistence.StudentJournal;
+import com.example.student_api.service.StudentService;
+import com.example.student_api.store.HeapStudentStore;
+import com.example.student_api.store.OffHeapStudentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot paths of {@link StudentService} for both store modes. Thread count is JMH's
+ * {@code -t} option, so contention is measured by running the same benchmarks with more
+ * threads (see {@code run-benchmarks.sh} in the repository root).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class StudentServiceBenchmark {
+
+    private static final String[] COURSES = {
+        "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+        "Economics", "History", "Philosophy", "Data Science", "Software Engineering"
+    };
+
+    @Param({ "10000", "1000000" })
+    private int size;
+
+    @Param({ "heap", "off-heap" })
+    private String store;
+
+    private StudentService service;
+    private final AtomicLong emails = new AtomicLong();
+
+    // Rebuilt every iteration so the students created by createStudent don't pile up
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new StudentService(StudentJournal.NONE, "off-heap".equals(store) ? new OffHeapStudentStore() : new HeapStudentStore());
+        for (int i = 0; i < size; i++) {
+            service.createStudent(newStudent());
+        }
+    }
+
+    @Benchmark
+    public Student createStudent() {
+        return service.createStudent(newStudent());
+    }
+
+    @Benchmark
+    public Student getStudentById() {
+        return service.getStudentById(1 + ThreadLocalRandom.current().nextLong(size));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Student> getAllStudents() {
+        return service.getAllStudents();
+    }
+
+    private Student newStudent() {
+        long n = emails.incrementAndGet();
+        return new Student(null, "Student " + n, "student" + n + "@example.com", COURSES[(int) (n % COURSES.length)]);
+    }
+}
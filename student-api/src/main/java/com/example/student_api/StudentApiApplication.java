@@ -1,9 +1,12 @@
 package com.example.student_api;
 
+import com.example.student_api.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class StudentApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,99 @@
+package com.example.student_api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reports how busy the carrier threads that run virtual threads are. Java 21 has no
+ * scheduler MXBean, so carriers are found by walking the thread groups and their CPU time
+ * is read from {@link ThreadMXBean}. Pinning itself is reported by Micrometer's
+ * {@code VirtualThreadMetrics} as {@code jvm.threads.virtual.pinned}.
+ */
+@Component
+public class CarrierThreadMetrics implements MeterBinder {
+
+    private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final int parallelism = Integer.getInteger(
+            "jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+
+    // CPU time last seen per carrier, so carriers that exit don't make the total go backwards
+    private final Map<Long, Long> lastCpuNanos = new HashMap<>();
+    private long totalCpuNanos;
+    private int carriers;
+    private long lastSampleNanos = System.nanoTime();
+    private long cpuNanosAtLastSample;
+    private double utilization;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jvm.threads.virtual.carriers", this, metrics -> metrics.sample().carriers)
+                .description("Live carrier threads running virtual threads")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.carrier.parallelism", this, metrics -> metrics.parallelism)
+                .description("Target number of carrier threads")
+                .register(registry);
+        FunctionCounter.builder("jvm.threads.virtual.carrier.cpu", this, metrics -> metrics.sample().totalCpuNanos / 1e9)
+                .description("CPU time spent on carrier threads")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.carrier.utilization", this, metrics -> metrics.sample().utilization)
+                .description("Share of the carrier parallelism busy since the previous sample")
+                .register(registry);
+    }
+
+    private synchronized CarrierThreadMetrics sample() {
+        if (!threads.isThreadCpuTimeSupported() || !threads.isThreadCpuTimeEnabled()) {
+            return this;
+        }
+        Map<Long, Long> seen = new HashMap<>();
+        for (Thread thread : platformThreads()) {
+            if (!thread.getClass().getName().equals(CARRIER_THREAD_CLASS)) {
+                continue;
+            }
+            long id = thread.threadId();
+            long cpu = threads.getThreadCpuTime(id);
+            if (cpu < 0) {
+                continue;
+            }
+            totalCpuNanos += cpu - lastCpuNanos.getOrDefault(id, 0L);
+            seen.put(id, cpu);
+        }
+        lastCpuNanos.keySet().retainAll(seen.keySet());
+        lastCpuNanos.putAll(seen);
+        carriers = seen.size();
+
+        long now = System.nanoTime();
+        // Several meters sample back to back on a scrape; keep the utilization of the last real interval
+        if (now - lastSampleNanos >= 100_000_000L) {
+            utilization = (double) (totalCpuNanos - cpuNanosAtLastSample) / ((now - lastSampleNanos) * (double) parallelism);
+            lastSampleNanos = now;
+            cpuNanosAtLastSample = totalCpuNanos;
+        }
+        return this;
+    }
+
+    private static Thread[] platformThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int count;
+        while ((count = root.enumerate(threads, true)) == threads.length) {
+            threads = new Thread[threads.length * 2];
+        }
+        Thread[] result = new Thread[count];
+        System.arraycopy(threads, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.student_api.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Creates the API docs ({@link OpenApiConfig}, springdoc and the Swagger UI) on their first
+ * request instead of at startup when {@code student.api-docs.lazy} is set, as the {@code lazy}
+ * profile does. springdoc declares its beans {@code @Lazy(false)}, so
+ * {@code spring.main.lazy-initialization} can't defer them, and making every bean lazy would
+ * only move the startup work into the first API request.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    @Bean
+    static BeanFactoryPostProcessor lazyApiDocs(Environment environment) {
+        return beanFactory -> {
+            if (!environment.getProperty("student.api-docs.lazy", Boolean.class, false)) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                if (isApiDocs(beanFactory.getType(name, false))) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    static boolean isApiDocs(Class<?> type) {
+        return type != null && (type == OpenApiConfig.class || type.getName().startsWith("org.springdoc.")
+                || type.getName().startsWith("io.swagger."));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.student_api.config;
+
+import com.example.websupport.shedding.AdaptiveConcurrencyLimit;
+import com.example.websupport.shedding.LoadSheddingFilter;
+import com.example.websupport.shedding.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Load shedding in front of everything else: a rate limit per client and endpoint
+ * ({@code 429}) and an adaptive limit on requests in progress ({@code 503}), both off by
+ * default. Their state is under {@code http.server.rate_limit.*} and
+ * {@code http.server.concurrency.*}.
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    @Bean
+    public LoadSheddingFilter loadSheddingFilter(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> mappings,
+            MeterRegistry registry,
+            @Value("${student.rate-limit.enabled:false}") boolean rateLimitEnabled,
+            @Value("${student.rate-limit.capacity:50}") int capacity,
+            @Value("${student.rate-limit.refill-per-second:25}") double refillPerSecond,
+            @Value("${student.concurrency-limit.enabled:false}") boolean concurrencyLimitEnabled,
+            @Value("${student.concurrency-limit.initial:100}") int initialLimit,
+            @Value("${student.concurrency-limit.min:10}") int minLimit,
+            @Value("${student.concurrency-limit.max:1000}") int maxLimit) {
+        TokenBucketRateLimiter rateLimiter = rateLimitEnabled
+                ? new TokenBucketRateLimiter(mappings, registry, capacity, refillPerSecond)
+                : null;
+        AdaptiveConcurrencyLimit concurrencyLimit = concurrencyLimitEnabled
+                ? new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit)
+                : null;
+        return new LoadSheddingFilter(rateLimiter, concurrencyLimit, registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.student_api.config;
+
+import com.example.websupport.metrics.RequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Request metrics on top of actuator's: payload bytes per endpoint. Latency of endpoints
+ * ({@code http.server.requests}) and of {@code @Timed} service methods ({@code service.method})
+ * comes from actuator; p50/p99/p999 for all of them are switched on with
+ * {@code management.metrics.distribution.percentiles.*}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public RequestMetricsFilter requestMetricsFilter(MeterRegistry registry) {
+        return new RequestMetricsFilter(registry, false);
+    }
+}
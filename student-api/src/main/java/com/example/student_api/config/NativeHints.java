@@ -0,0 +1,47 @@
+package com.example.student_api.config;
+
+import com.example.student_api.model.Student;
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.info.Contact;
+import io.swagger.v3.oas.annotations.info.Info;
+import io.swagger.v3.oas.annotations.info.License;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.servers.Server;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image ({@code -Pnative}). AOT processing
+ * covers the beans and springdoc ships hints for its own model; these are what the app reads
+ * reflectively on top of that:
+ * <ul>
+ *   <li>{@link Student}, bound by Jackson (JSON, CBOR, Smile and the NDJSON stream) and read
+ *   field by field by Bean Validation and swagger-core's schema resolver</li>
+ *   <li>the {@code @OpenAPIDefinition} on {@link OpenApiConfig} and {@code @Schema} on
+ *   {@link Student}, which springdoc turns into the API description</li>
+ *   <li>the Swagger UI files in the swagger-ui webjar and the pom.properties springdoc
+ *   reads its version from</li>
+ * </ul>
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> API_DOC_ANNOTATIONS = List.of(
+            OpenAPIDefinition.class, Info.class, Contact.class, License.class, Server.class, Schema.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), Student.class);
+        hints.reflection().registerType(Student.class, MemberCategory.DECLARED_FIELDS);
+
+        hints.reflection().registerType(OpenApiConfig.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        API_DOC_ANNOTATIONS.forEach(annotation ->
+                hints.reflection().registerType(annotation, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+    }
+}
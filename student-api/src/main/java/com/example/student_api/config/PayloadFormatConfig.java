@@ -0,0 +1,40 @@
+package com.example.student_api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets clients ask for CBOR ({@code application/cbor}) or Smile
+ * ({@code application/x-jackson-smile}) instead of JSON through the Accept header. Both
+ * converters start from Boot's {@link Jackson2ObjectMapperBuilder}, so they use the same
+ * modules and {@code spring.jackson.*} settings as the JSON one. They replace the ones
+ * Spring MVC would register with a plain mapper, and stay behind JSON in the converter
+ * list, so a client that accepts anything still gets JSON.
+ *
+ * <p>gzip itself is Tomcat's ({@code server.compression.*}); {@link CompressionThresholdFilter}
+ * keeps its size threshold working.
+ */
+@Configuration
+public class PayloadFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public CompressionThresholdFilter compressionThresholdFilter(ServerProperties server) {
+        return new CompressionThresholdFilter(server.getCompression().getMinResponseSize().toBytes());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.student_api.config;
+
+import com.example.student_api.persistence.FileStudentJournal;
+import com.example.student_api.persistence.StudentJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@EnableScheduling
+public class PersistenceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "student.persistence.enabled", havingValue = "true")
+    public StudentJournal fileStudentJournal(
+            @Value("${student.persistence.directory:data}") Path directory,
+            @Value("${student.persistence.sync-on-write:true}") boolean syncOnWrite,
+            @Value("${student.persistence.snapshot-every-records:100000}") long snapshotEveryRecords,
+            @Value("${student.persistence.snapshot-interval:5m}") Duration snapshotInterval) {
+        return new FileStudentJournal(directory, syncOnWrite, snapshotEveryRecords, snapshotInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "student.persistence.enabled", havingValue = "false", matchIfMissing = true)
+    public StudentJournal noStudentJournal() {
+        return StudentJournal.NONE;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.student_api.config;
+
+import com.example.student_api.store.HeapStudentStore;
+import com.example.student_api.store.OffHeapStudentStore;
+import com.example.student_api.store.StudentStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "student.store.mode", havingValue = "off-heap")
+    public StudentStore offHeapStudentStore() {
+        return new OffHeapStudentStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "student.store.mode", havingValue = "heap", matchIfMissing = true)
+    public StudentStore heapStudentStore() {
+        return new HeapStudentStore();
+    }
+}
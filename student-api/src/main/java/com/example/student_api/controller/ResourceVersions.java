@@ -0,0 +1,12 @@
+package com.example.student_api.controller;
+
+import com.example.websupport.etag.VersionedETags;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version counters behind the ETags of {@link StudentController}. Writers call
+ * {@link #changed} once the store and journal hold the write.
+ */
+@Component
+public class ResourceVersions extends VersionedETags {
+}
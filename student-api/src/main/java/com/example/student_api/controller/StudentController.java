@@ -2,6 +2,10 @@ package com.example.student_api.controller;
 
 import com.example.student_api.model.Student;
 import com.example.student_api.service.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,7 +13,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,30 +29,87 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // GETs answer 304 from these tags before touching the service; writes move them on
+    @Autowired
+    private ResourceVersions versions;
+
     @PostMapping
     @Operation(summary = "Create a new student", description = "Creates a new student record")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Student created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid input")
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "409", description = "Email already in use")
     })
     public Student addStudent(@Valid @RequestBody Student student) {
-        return studentService.createStudent(student);
+        Student created = studentService.createStudent(student);
+        versions.changed(created.getId());
+        return created;
     }
 
     @GetMapping
-    @Operation(summary = "Get all students", description = "Retrieves a list of all students")
+    @Operation(summary = "Get all students", description = "Retrieves a list of all students, optionally filtered by course")
     @ApiResponse(responseCode = "200", description = "List of students retrieved successfully")
-    public List<Student> getAllStudents() {
+    public List<Student> getAllStudents(
+            @Parameter(description = "Only return students enrolled in this course") @RequestParam(required = false) String course,
+            WebRequest request) {
+        if (request.checkNotModified(versions.collectionETag(request))) {
+            return null;
+        }
+        if (course != null) {
+            return studentService.getStudentsByCourse(course);
+        }
         return studentService.getAllStudents();
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all students", description = "Streams students as newline-delimited JSON while they are read, so memory stays flat regardless of how many there are")
+    @ApiResponse(responseCode = "200", description = "Students streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamAllStudents(
+            @Parameter(description = "Only return students enrolled in this course") @RequestParam(required = false) String course,
+            WebRequest request) {
+        if (request.checkNotModified(versions.collectionETag(request))) {
+            return null;
+        }
+        Iterable<Student> students = course != null ? studentService.getStudentsByCourse(course) : studentService.iterateStudents();
+        StreamingResponseBody body = out -> {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.setRootValueSeparator(null);
+                for (Student student : students) {
+                    writer.writeValue(generator, student);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/by-email/{email}")
+    @Operation(summary = "Get student by email", description = "Retrieves a student by their email address")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Student found"),
+        @ApiResponse(responseCode = "404", description = "Student not found")
+    })
+    public Student getStudentByEmail(@Parameter(description = "Student email") @PathVariable String email, WebRequest request) {
+        if (request.checkNotModified(versions.collectionETag(request))) {
+            return null;
+        }
+        return studentService.getStudentByEmail(email);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get student by ID", description = "Retrieves a student by their ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Student found"),
         @ApiResponse(responseCode = "404", description = "Student not found")
     })
-    public Student getStudentById(@Parameter(description = "Student ID") @PathVariable Long id) {
+    public Student getStudentById(@Parameter(description = "Student ID") @PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(versions.itemETag(id, request))) {
+            return null;
+        }
         return studentService.getStudentById(id);
     }
 
@@ -53,10 +118,13 @@ public class StudentController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Student updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "404", description = "Student not found")
+        @ApiResponse(responseCode = "404", description = "Student not found"),
+        @ApiResponse(responseCode = "409", description = "Email already in use")
     })
     public Student updateStudent(@Parameter(description = "Student ID") @PathVariable Long id, @Valid @RequestBody Student student) {
-        return studentService.updateStudent(id, student);
+        Student updated = studentService.updateStudent(id, student);
+        versions.changed(id);
+        return updated;
     }
 
     @DeleteMapping("/{id}")
@@ -67,6 +135,9 @@ public class StudentController {
     })
     public String deleteStudent(@Parameter(description = "Student ID") @PathVariable Long id) {
         boolean deleted = studentService.deleteStudent(id);
+        if (deleted) {
+            versions.changed(id);
+        }
         return deleted ? "Student deleted" : "Student not found";
     }
 }
@@ -0,0 +1,427 @@
+package com.example.student_api.persistence;
+
+import com.example.student_api.model.Student;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only, FileChannel based write-ahead log with periodic compacted snapshots.
+ *
+ * <p>The log is split into segments named after the first sequence number they hold
+ * ({@code wal-00000000000000000001.log}). Each record is framed as
+ * {@code [length][crc32][lsn, op, id, fields...]} so a torn write at the tail is detected
+ * and cut off on recovery. A snapshot ({@code snapshot-<lsn>.snap}) holds the full store
+ * as of its sequence number; segments it covers are deleted once it is safely renamed
+ * into place, so recovery time is bounded by the snapshot size plus the log tail.
+ *
+ * <p>Durability uses group commit: appends only write to the page cache, and the first
+ * thread in {@link #sync(long)} forces everything appended so far, which releases every
+ * writer queued behind it at once.
+ */
+public class FileStudentJournal implements StudentJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(FileStudentJournal.class);
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int SNAPSHOT_MAGIC = 0x53545544;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int MAX_RECORD_BYTES = 16 << 20;
+
+    private final Path directory;
+    private final boolean syncOnWrite;
+    private final long snapshotEveryRecords;
+    private final Duration snapshotInterval;
+
+    // Lock order is syncLock before appendLock; appends never take syncLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile FileChannel segment;
+    private long segmentStartLsn;
+    private volatile long appendedLsn;
+    private volatile long durableLsn;
+    private final AtomicLong appendsSinceSnapshot = new AtomicLong();
+    private volatile long lastSnapshotNanos = System.nanoTime();
+
+    public FileStudentJournal(Path directory, boolean syncOnWrite, long snapshotEveryRecords, Duration snapshotInterval) {
+        this.directory = directory;
+        this.syncOnWrite = syncOnWrite;
+        this.snapshotEveryRecords = snapshotEveryRecords;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public Recovery recover() {
+        try {
+            Files.createDirectories(directory);
+            Map<Long, Student> students = new HashMap<>();
+            long snapshotLsn = 0;
+            long nextId = 1;
+
+            List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (!snapshots.isEmpty()) {
+                Path latest = snapshots.get(snapshots.size() - 1);
+                snapshotLsn = sequenceOf(latest, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+                nextId = readSnapshot(latest, students);
+            }
+
+            // Ids of deleted students still count, so they are never handed out again
+            long[] maxId = {nextId - 1};
+            long lastLsn = snapshotLsn;
+            List<Path> segments = list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            for (int i = 0; i < segments.size(); i++) {
+                lastLsn = replay(segments.get(i), snapshotLsn, lastLsn, students, maxId, i == segments.size() - 1);
+            }
+            nextId = maxId[0] + 1;
+
+            appendedLsn = lastLsn;
+            durableLsn = lastLsn;
+            if (segments.isEmpty()) {
+                openSegment(lastLsn + 1);
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                segmentStartLsn = sequenceOf(last, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+                segment = FileChannel.open(last, StandardOpenOption.WRITE);
+                segment.position(segment.size());
+            }
+            log.info("Recovered {} students from {} (snapshot lsn {}, last lsn {})",
+                    students.size(), directory, snapshotLsn, lastLsn);
+            return new Recovery(students, nextId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover student journal from " + directory, e);
+        }
+    }
+
+    @Override
+    public long appendPut(Student student) {
+        return append(OP_PUT, student.getId(), student);
+    }
+
+    @Override
+    public long appendDelete(long id) {
+        return append(OP_DELETE, id, null);
+    }
+
+    private long append(byte op, long id, Student student) {
+        byte[] payload = encode(op, id, student);
+        appendLock.lock();
+        try {
+            long lsn = appendedLsn + 1;
+            ByteBuffer.wrap(payload).putLong(0, lsn);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer frame = ByteBuffer.allocate(8 + payload.length)
+                    .putInt(payload.length)
+                    .putInt((int) crc.getValue())
+                    .put(payload)
+                    .flip();
+            FileChannel channel = segment;
+            long position = channel.position();
+            try {
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+            } catch (IOException e) {
+                // Drop the partial frame so later records are not written behind garbage
+                channel.truncate(position);
+                throw e;
+            }
+            appendedLsn = lsn;
+            appendsSinceSnapshot.incrementAndGet();
+            return lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to student journal", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void sync(long lsn) {
+        if (!syncOnWrite || durableLsn >= lsn) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            // Another writer may have forced our record while we were waiting
+            if (durableLsn >= lsn) {
+                return;
+            }
+            long target = appendedLsn;
+            segment.force(false);
+            durableLsn = target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync student journal", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isSnapshotDue() {
+        long pending = appendsSinceSnapshot.get();
+        return pending >= snapshotEveryRecords
+                || (pending > 0 && System.nanoTime() - lastSnapshotNanos >= snapshotInterval.toNanos());
+    }
+
+    @Override
+    public long rotate() {
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            long lsn = appendedLsn;
+            appendsSinceSnapshot.set(0);
+            if (segmentStartLsn == lsn + 1) {
+                return lsn;
+            }
+            segment.force(false);
+            segment.close();
+            durableLsn = lsn;
+            openSegment(lsn + 1);
+            return lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rotate student journal", e);
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void writeSnapshot(long lsn, long nextId, Iterable<Student> students) {
+        Path target = directory.resolve(fileName(SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            int written = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                CheckedOutputStream checked = new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_FORMAT);
+                out.writeLong(lsn);
+                out.writeLong(nextId);
+                for (Student student : students) {
+                    out.writeBoolean(true);
+                    out.writeLong(student.getId());
+                    writeString(out, student.getName());
+                    writeString(out, student.getEmail());
+                    writeString(out, student.getCourse());
+                    written++;
+                }
+                out.writeBoolean(false);
+                out.writeLong(checked.getChecksum().getValue());
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            for (Path snapshot : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+                if (sequenceOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < lsn) {
+                    Files.deleteIfExists(snapshot);
+                }
+            }
+            for (Path segmentFile : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+                if (sequenceOf(segmentFile, SEGMENT_PREFIX, SEGMENT_SUFFIX) <= lsn) {
+                    Files.deleteIfExists(segmentFile);
+                }
+            }
+            lastSnapshotNanos = System.nanoTime();
+            log.info("Wrote snapshot of {} students at lsn {}", written, lsn);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write student snapshot " + target, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            if (segment != null && segment.isOpen()) {
+                segment.force(false);
+                segment.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close student journal", e);
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    private void openSegment(long startLsn) throws IOException {
+        segmentStartLsn = startLsn;
+        segment = FileChannel.open(directory.resolve(fileName(SEGMENT_PREFIX, startLsn, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segment.position(segment.size());
+    }
+
+    private long readSnapshot(Path snapshot, Map<Long, Student> students) throws IOException {
+        try (InputStream file = Files.newInputStream(snapshot)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                throw new IllegalStateException("Not a student snapshot: " + snapshot);
+            }
+            in.readLong();
+            long nextId = in.readLong();
+            while (in.readBoolean()) {
+                long id = in.readLong();
+                students.put(id, new Student(id, readString(in), readString(in), readString(in)));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IllegalStateException("Checksum mismatch in student snapshot " + snapshot);
+            }
+            return nextId;
+        }
+    }
+
+    private long replay(Path segmentFile, long snapshotLsn, long lastLsn, Map<Long, Student> students, long[] maxId,
+            boolean tail) throws IOException {
+        long validBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentFile), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return lastLsn;
+                }
+                int crc = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    throw new EOFException("Invalid record length " + length);
+                }
+                byte[] payload = in.readNBytes(length);
+                CRC32 actual = new CRC32();
+                actual.update(payload);
+                if (payload.length != length || (int) actual.getValue() != crc) {
+                    throw new EOFException("Torn record at offset " + validBytes);
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                long lsn = record.readLong();
+                byte op = record.readByte();
+                long id = record.readLong();
+                if (lsn > snapshotLsn) {
+                    maxId[0] = Math.max(maxId[0], id);
+                    if (op == OP_PUT) {
+                        students.put(id, new Student(id, readString(record), readString(record), readString(record)));
+                    } else {
+                        students.remove(id);
+                    }
+                }
+                lastLsn = Math.max(lastLsn, lsn);
+                validBytes += 8 + length;
+            }
+        } catch (EOFException e) {
+            if (!tail) {
+                throw new IllegalStateException("Corrupt student journal segment " + segmentFile, e);
+            }
+            log.warn("Truncating torn tail of {} at {} bytes", segmentFile, validBytes);
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+            return lastLsn;
+        }
+    }
+
+    private static byte[] encode(byte op, long id, Student student) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(0); // lsn, filled in under the append lock
+            out.writeByte(op);
+            out.writeLong(id);
+            if (student != null) {
+                writeString(out, student.getName());
+                writeString(out, student.getEmail());
+                writeString(out, student.getCourse());
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).forEach(files::add);
+        }
+        // Sequence numbers are zero padded, so name order is sequence order
+        files.sort(null);
+        return files;
+    }
+
+    private static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static String fileName(String prefix, long sequence, String suffix) {
+        return prefix + String.format("%020d", sequence) + suffix;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.student_api.persistence;
+
+import com.example.student_api.model.Student;
+
+import java.util.Map;
+
+/**
+ * Durability hook for the in-memory student store. Every mutation is appended to the
+ * journal while the id is locked, then made durable with {@link #sync(long)} once the
+ * lock is released so concurrent writers can share a single fsync.
+ */
+public interface StudentJournal extends AutoCloseable {
+
+    /** Journal used when persistence is disabled: nothing is written and nothing is recovered. */
+    StudentJournal NONE = new StudentJournal() {
+        @Override
+        public Recovery recover() {
+            return new Recovery(Map.of(), 1);
+        }
+
+        @Override
+        public long appendPut(Student student) {
+            return 0;
+        }
+
+        @Override
+        public long appendDelete(long id) {
+            return 0;
+        }
+
+        @Override
+        public void sync(long lsn) {
+        }
+
+        @Override
+        public boolean isSnapshotDue() {
+            return false;
+        }
+
+        @Override
+        public long rotate() {
+            return 0;
+        }
+
+        @Override
+        public void writeSnapshot(long lsn, long nextId, Iterable<Student> students) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /** Loads the latest snapshot and replays the log written after it. */
+    Recovery recover();
+
+    /** Appends a full copy of {@code student}; returns the log sequence number of the record. */
+    long appendPut(Student student);
+
+    /** Appends a delete of {@code id}; returns the log sequence number of the record. */
+    long appendDelete(long id);
+
+    /** Blocks until every record up to {@code lsn} is on stable storage. */
+    void sync(long lsn);
+
+    boolean isSnapshotDue();
+
+    /**
+     * Starts a new log segment and returns the last sequence number of the previous one.
+     * Callers must make sure no append is in flight while this runs.
+     */
+    long rotate();
+
+    /**
+     * Writes a snapshot covering every record up to {@code lsn} and drops the log segments
+     * it makes obsolete. {@code students} may already reflect newer records; replaying
+     * those again on recovery is harmless because every record carries the full state.
+     */
+    void writeSnapshot(long lsn, long nextId, Iterable<Student> students);
+
+    @Override
+    void close();
+
+    record Recovery(Map<Long, Student> students, long nextId) {
+    }
+}
@@ -1,37 +1,228 @@
 package com.example.student_api.service;
 
+import com.example.student_api.exception.DuplicateEmailException;
 import com.example.student_api.model.Student;
+import com.example.student_api.persistence.StudentJournal;
+import com.example.student_api.store.HeapStudentStore;
+import com.example.student_api.store.StudentStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Service
+@Timed("service.method")
 public class StudentService {
 
-    private final Map<Long, Student> studentMap = new HashMap<>();
-    private long currentId = 1;
+    private static final int WRITE_STRIPES = 1024;
+
+    private final StudentStore store;
+    private final AtomicLong currentId = new AtomicLong(1);
+
+    // Writes lock only the stripe of the id they touch; reads never take these locks
+    private final ReentrantLock[] writeStripes = new ReentrantLock[WRITE_STRIPES];
+
+    // Secondary indexes, keyed by normalized value. They are only modified while holding
+    // the write stripe of the id, so every write to one id is serialized with its index updates.
+    private final ConcurrentHashMap<String, Long> emailIndex = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Long>> courseIndex = new ConcurrentHashMap<>();
+
+    private final StudentJournal journal;
+    // Writers share the read side; a snapshot takes the write side only while the journal
+    // rotates, so every record before the rotation point is already visible in the store.
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
+    public StudentService() {
+        this(StudentJournal.NONE);
+    }
+
+    public StudentService(StudentJournal journal) {
+        this(journal, new HeapStudentStore());
+    }
+
+    @Autowired
+    public StudentService(StudentJournal journal, StudentStore store) {
+        this.journal = journal;
+        this.store = store;
+        for (int i = 0; i < WRITE_STRIPES; i++) {
+            writeStripes[i] = new ReentrantLock();
+        }
+        StudentJournal.Recovery recovery = journal.recover();
+        recovery.students().forEach((id, student) -> {
+            claimEmail(id, student);
+            reindex(id, null, student);
+            store.put(student);
+        });
+        currentId.set(recovery.nextId());
+    }
 
     public Student createStudent(Student student) {
-        student.setId(currentId++);
-        studentMap.put(student.getId(), student);
+        student.setId(currentId.getAndIncrement());
+        write(student.getId(), student);
         return student;
     }
 
     public List<Student> getAllStudents() {
-        return new ArrayList<>(studentMap.values());
+        List<Student> students = new ArrayList<>(store.size());
+        store.forEach(students::add);
+        return students;
+    }
+
+    /**
+     * Live view over every student, materialized one at a time while iterating.
+     * Use this instead of {@link #getAllStudents()} when the caller can consume records incrementally.
+     */
+    public Iterable<Student> iterateStudents() {
+        return store;
     }
 
     public Student getStudentById(Long id) {
-        return studentMap.get(id);
+        return store.get(id);
+    }
+
+    public Student getStudentByEmail(String email) {
+        Long id = emailIndex.get(normalize(email));
+        if (id == null) {
+            return null;
+        }
+        // The index entry is written just before the record itself, so re-check the match
+        Student student = store.get(id);
+        return student != null && normalize(student.getEmail()).equals(normalize(email)) ? student : null;
+    }
+
+    public List<Student> getStudentsByCourse(String course) {
+        Set<Long> ids = courseIndex.get(normalize(course));
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<Student> students = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Student student = store.get(id);
+            if (student != null && normalize(student.getCourse()).equals(normalize(course))) {
+                students.add(student);
+            }
+        }
+        students.sort(Comparator.comparing(Student::getId));
+        return students;
     }
 
     public Student updateStudent(Long id, Student updatedStudent) {
         updatedStudent.setId(id);
-        studentMap.put(id, updatedStudent);
+        write(id, updatedStudent);
+        // Keep the id sequence ahead of ids introduced by upserts so creates never collide with them
+        currentId.accumulateAndGet(id + 1, Math::max);
         return updatedStudent;
     }
 
     public boolean deleteStudent(Long id) {
-        return studentMap.remove(id) != null;
+        return write(id, null) != null;
+    }
+
+    /**
+     * Compacts the journal into a snapshot once enough writes have accumulated.
+     * A no-op unless persistence is enabled.
+     */
+    @Scheduled(fixedDelayString = "${student.persistence.snapshot-check-interval:10s}")
+    public void snapshotIfDue() {
+        if (!journal.isSnapshotDue()) {
+            return;
+        }
+        long lsn;
+        snapshotLock.writeLock().lock();
+        try {
+            lsn = journal.rotate();
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+        journal.writeSnapshot(lsn, currentId.get(), store);
+    }
+
+    /**
+     * Replaces the record for {@code id} with {@code replacement} (or removes it when null),
+     * journaling the change before it becomes visible. Returns the previous record.
+     */
+    private Student write(Long id, Student replacement) {
+        long lsn;
+        Student existing;
+        ReentrantLock stripe = writeStripes[Long.hashCode(id * 0x9E3779B97F4A7C15L) & (WRITE_STRIPES - 1)];
+        snapshotLock.readLock().lock();
+        stripe.lock();
+        try {
+            existing = store.get(id);
+            if (existing == null && replacement == null) {
+                return null;
+            }
+            boolean claimed = claimEmail(id, replacement);
+            try {
+                lsn = replacement != null ? journal.appendPut(replacement) : journal.appendDelete(id);
+            } catch (RuntimeException e) {
+                if (claimed) {
+                    emailIndex.remove(normalize(replacement.getEmail()), id);
+                }
+                throw e;
+            }
+            reindex(id, existing, replacement);
+            if (replacement != null) {
+                store.put(replacement);
+            } else {
+                store.remove(id);
+            }
+        } finally {
+            stripe.unlock();
+            snapshotLock.readLock().unlock();
+        }
+        // Wait for durability outside the id lock so concurrent writers share one fsync
+        journal.sync(lsn);
+        return existing;
+    }
+
+    /**
+     * Reserves the email of {@code replacement} for {@code id}. Returns true when the
+     * reservation is new, false when {@code id} already owned it.
+     */
+    private boolean claimEmail(Long id, Student replacement) {
+        if (replacement == null) {
+            return false;
+        }
+        Long owner = emailIndex.putIfAbsent(normalize(replacement.getEmail()), id);
+        if (owner != null && !owner.equals(id)) {
+            throw new DuplicateEmailException(replacement.getEmail());
+        }
+        return owner == null;
+    }
+
+    /**
+     * Moves the index entries of {@code id} from {@code existing} to {@code replacement}.
+     * The replacement's email must already be claimed. Must run under the write stripe
+     * of {@code id}.
+     */
+    private void reindex(Long id, Student existing, Student replacement) {
+        if (existing != null) {
+            String oldEmail = normalize(existing.getEmail());
+            if (replacement == null || !oldEmail.equals(normalize(replacement.getEmail()))) {
+                emailIndex.remove(oldEmail, id);
+            }
+            courseIndex.computeIfPresent(normalize(existing.getCourse()), (course, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (replacement != null) {
+            courseIndex.compute(normalize(replacement.getCourse()), (course, ids) -> {
+                Set<Long> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                result.add(id);
+                return result;
+            });
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
     }
 }
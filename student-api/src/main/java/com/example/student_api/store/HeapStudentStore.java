@@ -0,0 +1,40 @@
+package com.example.student_api.store;
+
+import com.example.student_api.model.Student;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default store: one {@link Student} object per record in a {@link ConcurrentHashMap}.
+ * Iteration sees a consistent view of each entry without ConcurrentModificationException.
+ */
+public class HeapStudentStore implements StudentStore {
+
+    private final ConcurrentHashMap<Long, Student> students = new ConcurrentHashMap<>();
+
+    @Override
+    public Student get(long id) {
+        return students.get(id);
+    }
+
+    @Override
+    public void put(Student student) {
+        students.put(student.getId(), student);
+    }
+
+    @Override
+    public boolean remove(long id) {
+        return students.remove(id) != null;
+    }
+
+    @Override
+    public int size() {
+        return students.size();
+    }
+
+    @Override
+    public Iterator<Student> iterator() {
+        return students.values().iterator();
+    }
+}
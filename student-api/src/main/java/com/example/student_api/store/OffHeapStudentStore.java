@@ -0,0 +1,423 @@
+package com.example.student_api.store;
+
+import com.example.student_api.model.Student;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Columnar store that keeps student records outside the Java heap, so tens of millions
+ * of students don't turn into tens of millions of objects for the GC to trace.
+ *
+ * <p>Ids are split into segments of {@value #SEGMENT_ROWS} consecutive ids. Each segment
+ * holds fixed-width row tables in direct buffers (course code plus offset/length of the
+ * name and email bytes), one per page of {@value #PAGE_ROWS} ids that has a record, and a
+ * growable direct buffer with the UTF-8 string bytes. Pages and segments are allocated on
+ * the first write and dropped when their last record is removed, so ids scattered over a wide
+ * range cost a page each. A direct buffer's memory only goes back when the GC collects the
+ * buffer, so emptied pages go to a free list, up to {@value #MAX_FREE_PAGES} of them, and the
+ * next new page is taken from there. Course names repeat a lot, so they are
+ * dictionary-encoded to an int code. {@link Student} objects only exist while a record
+ * crosses the API boundary.
+ *
+ * <p>Writers take the segment's write lock. Readers use an optimistic {@link StampedLock}
+ * read and retry under the read lock only if a writer touched the segment meanwhile.
+ */
+public class OffHeapStudentStore implements StudentStore {
+
+    private static final int SEGMENT_SHIFT = 14;
+    private static final int SEGMENT_ROWS = 1 << SEGMENT_SHIFT;
+    private static final int ROW_MASK = SEGMENT_ROWS - 1;
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_ROWS = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_ROWS - 1;
+
+    // Row layout: course code, name offset, name length, email offset, email length
+    private static final int ROW_BYTES = 20;
+    private static final int COURSE = 0;
+    private static final int NAME_OFFSET = 4;
+    private static final int NAME_LENGTH = 8;
+    private static final int EMAIL_OFFSET = 12;
+    private static final int EMAIL_LENGTH = 16;
+
+    private static final int EMPTY = -1;
+    private static final int NULL_COURSE = -2;
+    private static final int NULL_STRING = -1;
+    private static final int INITIAL_STRING_BYTES = 1 << 10;
+    private static final int PAGE_BYTES = PAGE_ROWS * ROW_BYTES;
+    private static final int MAX_FREE_PAGES = 1024;
+
+    private final ConcurrentHashMap<Long, Segment> segments = new ConcurrentHashMap<>();
+    private final CourseDictionary courses = new CourseDictionary();
+    private final AtomicInteger size = new AtomicInteger();
+    // Emptied pages, every row EMPTY, waiting to be handed to the next page that is needed
+    private final ConcurrentLinkedQueue<ByteBuffer> freePages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger freePageCount = new AtomicInteger();
+
+    @Override
+    public Student get(long id) {
+        Segment segment = segments.get(id >>> SEGMENT_SHIFT);
+        return segment != null ? segment.get((int) (id & ROW_MASK)) : null;
+    }
+
+    @Override
+    public void put(Student student) {
+        long id = student.getId();
+        // A segment emptied by a concurrent remove is retired; retry on its replacement
+        while (!segments.computeIfAbsent(id >>> SEGMENT_SHIFT, Segment::new).put((int) (id & ROW_MASK), student)) {
+        }
+    }
+
+    @Override
+    public boolean remove(long id) {
+        Segment segment = segments.get(id >>> SEGMENT_SHIFT);
+        return segment != null && segment.remove((int) (id & ROW_MASK));
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /** Off-heap bytes currently held by row tables and string areas, not counting free pages. */
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.offHeapBytes();
+        }
+        return bytes;
+    }
+
+    /** Off-heap bytes of emptied pages kept for reuse. */
+    public long freePageBytes() {
+        return (long) freePageCount.get() * PAGE_BYTES;
+    }
+
+    private ByteBuffer takePage() {
+        ByteBuffer page = freePages.poll();
+        if (page != null) {
+            freePageCount.decrementAndGet();
+            return page;
+        }
+        page = ByteBuffer.allocateDirect(PAGE_BYTES);
+        for (int at = 0; at < page.capacity(); at += ROW_BYTES) {
+            page.putInt(at + COURSE, EMPTY);
+        }
+        return page;
+    }
+
+    // Past the cap the page is left to the GC, so a burst of removals can't pin memory forever
+    private void releasePage(ByteBuffer page) {
+        if (freePageCount.incrementAndGet() <= MAX_FREE_PAGES) {
+            freePages.add(page);
+        } else {
+            freePageCount.decrementAndGet();
+        }
+    }
+
+    /** Iterates in id order, materializing one record at a time. */
+    @Override
+    public Iterator<Student> iterator() {
+        List<Long> keys = new ArrayList<>(segments.keySet());
+        keys.sort(null);
+        return new Iterator<>() {
+            private int segmentIndex = -1;
+            private Segment segment;
+            private int row = SEGMENT_ROWS;
+            private Student next = advance();
+
+            private Student advance() {
+                while (true) {
+                    while (row < SEGMENT_ROWS) {
+                        Student student = segment.get(row++);
+                        if (student != null) {
+                            return student;
+                        }
+                    }
+                    if (++segmentIndex >= keys.size()) {
+                        return null;
+                    }
+                    segment = segments.get(keys.get(segmentIndex));
+                    row = segment != null ? 0 : SEGMENT_ROWS;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Student next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Student current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    private final class Segment {
+        private final long key;
+        private final long firstId;
+        private final StampedLock lock = new StampedLock();
+        // Row tables of PAGE_ROWS ids each, allocated on the first write to the page and freed
+        // when its last row is removed, so a sparse id costs one page, not a whole segment;
+        // guarded by lock
+        private final ByteBuffer[] pages = new ByteBuffer[SEGMENT_ROWS / PAGE_ROWS];
+        private final int[] pageRows = new int[SEGMENT_ROWS / PAGE_ROWS];
+        // Allocated on the first write; replaced (never mutated in place) when it has to grow;
+        // guarded by lock
+        private ByteBuffer strings;
+        private int stringsUsed;
+        private int liveStringBytes;
+        private int liveRows;
+        // Set when the last row is removed, just before the segment leaves the map
+        private boolean retired;
+
+        Segment(long key) {
+            this.key = key;
+            this.firstId = key << SEGMENT_SHIFT;
+        }
+
+        Student get(int row) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    Student student = read(row);
+                    if (lock.validate(stamp)) {
+                        return student;
+                    }
+                } catch (RuntimeException e) {
+                    // Read a row mid-update; fall through and retry under the read lock
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return read(row);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private Student read(int row) {
+            ByteBuffer page = pages[row >>> PAGE_SHIFT];
+            if (page == null) {
+                return null;
+            }
+            int at = (row & PAGE_MASK) * ROW_BYTES;
+            int course = page.getInt(at + COURSE);
+            if (course == EMPTY) {
+                return null;
+            }
+            ByteBuffer bytes = strings;
+            String name = readString(bytes, page.getInt(at + NAME_OFFSET), page.getInt(at + NAME_LENGTH));
+            String email = readString(bytes, page.getInt(at + EMAIL_OFFSET), page.getInt(at + EMAIL_LENGTH));
+            return new Student(firstId + row, name, email, courses.decode(course));
+        }
+
+        /** Returns {@code false} if the segment was retired and the write has to go to a new one. */
+        boolean put(int row, Student student) {
+            byte[] name = encodeString(student.getName());
+            byte[] email = encodeString(student.getEmail());
+            int course = courses.encode(student.getCourse());
+            long stamp = lock.writeLock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                ByteBuffer page = page(row);
+                int at = (row & PAGE_MASK) * ROW_BYTES;
+                if (page.getInt(at + COURSE) == EMPTY) {
+                    pageRows[row >>> PAGE_SHIFT]++;
+                    liveRows++;
+                    size.incrementAndGet();
+                } else {
+                    liveStringBytes -= stringBytes(page, at);
+                }
+                int needed = length(name) + length(email);
+                ensureCapacity(needed);
+                stringsUsed = writeString(page, at + NAME_OFFSET, name, stringsUsed);
+                stringsUsed = writeString(page, at + EMAIL_OFFSET, email, stringsUsed);
+                liveStringBytes += needed;
+                page.putInt(at + COURSE, course);
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        boolean remove(int row) {
+            long stamp = lock.writeLock();
+            try {
+                int index = row >>> PAGE_SHIFT;
+                ByteBuffer page = pages[index];
+                int at = (row & PAGE_MASK) * ROW_BYTES;
+                if (page == null || page.getInt(at + COURSE) == EMPTY) {
+                    return false;
+                }
+                liveStringBytes -= stringBytes(page, at);
+                page.putInt(at + COURSE, EMPTY);
+                if (--pageRows[index] == 0) {
+                    pages[index] = null;
+                    // Every row is EMPTY again; a reader still holding it fails validation
+                    releasePage(page);
+                }
+                size.decrementAndGet();
+                if (--liveRows == 0) {
+                    retired = true;
+                    segments.remove(key, this);
+                }
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        long offHeapBytes() {
+            long stamp = lock.readLock();
+            try {
+                long bytes = strings != null ? strings.capacity() : 0;
+                for (ByteBuffer page : pages) {
+                    bytes += page != null ? page.capacity() : 0;
+                }
+                return bytes;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private ByteBuffer page(int row) {
+            int index = row >>> PAGE_SHIFT;
+            if (pages[index] == null) {
+                pages[index] = takePage();
+            }
+            return pages[index];
+        }
+
+        /** Makes room for {@code needed} more bytes, dropping bytes of overwritten records on the way. */
+        private void ensureCapacity(int needed) {
+            if (strings != null && stringsUsed + needed <= strings.capacity()) {
+                return;
+            }
+            int required = liveStringBytes + needed;
+            int capacity = strings != null ? strings.capacity() : INITIAL_STRING_BYTES;
+            while (capacity < required * 2) {
+                capacity <<= 1;
+            }
+            ByteBuffer source = strings;
+            ByteBuffer target = ByteBuffer.allocateDirect(capacity);
+            int used = 0;
+            for (ByteBuffer page : pages) {
+                if (page == null) {
+                    continue;
+                }
+                for (int at = 0; at < page.capacity(); at += ROW_BYTES) {
+                    if (page.getInt(at + COURSE) != EMPTY) {
+                        used = moveString(source, target, page, at + NAME_OFFSET, used);
+                        used = moveString(source, target, page, at + EMAIL_OFFSET, used);
+                    }
+                }
+            }
+            strings = target;
+            stringsUsed = used;
+        }
+
+        private int moveString(ByteBuffer source, ByteBuffer target, ByteBuffer page, int column, int used) {
+            int length = page.getInt(column + 4);
+            if (length > 0) {
+                target.put(used, source, page.getInt(column), length);
+            }
+            page.putInt(column, used);
+            return used + Math.max(length, 0);
+        }
+
+        private int writeString(ByteBuffer page, int column, byte[] value, int used) {
+            if (value == null) {
+                page.putInt(column, 0);
+                page.putInt(column + 4, NULL_STRING);
+                return used;
+            }
+            strings.put(used, value);
+            page.putInt(column, used);
+            page.putInt(column + 4, value.length);
+            return used + value.length;
+        }
+
+        private int stringBytes(ByteBuffer page, int at) {
+            return Math.max(page.getInt(at + NAME_LENGTH), 0) + Math.max(page.getInt(at + EMAIL_LENGTH), 0);
+        }
+    }
+
+    /** Append-only mapping between course names and small int codes. */
+    private static final class CourseDictionary {
+        private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+        private final ReentrantLock appendLock = new ReentrantLock();
+        private volatile String[] names = new String[16];
+        private int count;
+
+        int encode(String course) {
+            if (course == null) {
+                return NULL_COURSE;
+            }
+            Integer code = codes.get(course);
+            if (code != null) {
+                return code;
+            }
+            appendLock.lock();
+            try {
+                code = codes.get(course);
+                if (code != null) {
+                    return code;
+                }
+                String[] current = names;
+                if (count == current.length) {
+                    current = Arrays.copyOf(current, count * 2);
+                }
+                current[count] = course;
+                // Publish the name before its code can be stored in any row
+                names = current;
+                codes.put(course, count);
+                return count++;
+            } finally {
+                appendLock.unlock();
+            }
+        }
+
+        String decode(int code) {
+            return code == NULL_COURSE ? null : names[code];
+        }
+    }
+
+    private static byte[] encodeString(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static String readString(ByteBuffer bytes, int offset, int length) {
+        if (length == NULL_STRING) {
+            return null;
+        }
+        if (length < 0 || offset < 0 || offset > bytes.capacity() - length) {
+            throw new IndexOutOfBoundsException("Inconsistent string reference " + offset + "+" + length);
+        }
+        byte[] value = new byte[length];
+        bytes.get(offset, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.student_api.store;
+
+import com.example.student_api.model.Student;
+
+/**
+ * Primary storage for student records, keyed by id. Implementations must allow lock-free
+ * or optimistic reads concurrently with writes; the caller guarantees that writes to the
+ * same id never run concurrently, so stores only need to isolate different ids.
+ */
+public interface StudentStore extends Iterable<Student> {
+
+    Student get(long id);
+
+    void put(Student student);
+
+    boolean remove(long id);
+
+    int size();
+}
@@ -0,0 +1,305 @@
+package com.example.student_api.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds a fixed number of keep-alive connections open against a running student-api and
+ * drives them as fast as the server answers, then reports throughput and latency
+ * percentiles. Every connection is served by its own virtual thread, so 10k connections
+ * are cheap on the client side.
+ *
+ * <p>Compare request execution modes by starting the server once per mode (persistence
+ * on, so writes block on fsync) and pointing this at it:
+ *
+ * <pre>
+ * ulimit -n 65536
+ * java -jar target/student-api-0.0.1-SNAPSHOT.jar --student.persistence.enabled=true --student.concurrency-limit.enabled=false --spring.threads.virtual.enabled=false
+ * java -cp target/test-classes com.example.student_api.benchmark.StudentLoadTest platform 10000 30 10
+ * java -jar target/student-api-0.0.1-SNAPSHOT.jar --student.persistence.enabled=true --student.concurrency-limit.enabled=false --spring.threads.virtual.enabled=true
+ * java -cp target/test-classes com.example.student_api.benchmark.StudentLoadTest virtual 10000 30 10
+ * </pre>
+ *
+ * Load shedding is switched off so every request is served and the modes compare on latency.
+ * Arguments: label, connections, seconds measured, percentage of requests that are
+ * updates, base url. Requests issued during the first five seconds are not measured.
+ * Run client and server on separate machines when possible; on one box they compete for
+ * the same cores.
+ */
+public class StudentLoadTest {
+
+    private static final int STUDENTS = 1_000;
+    private static final long WARMUP_NANOS = 5_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        String label = args.length > 0 ? args[0] : "unlabelled";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int writePercent = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        URI base = URI.create(args.length > 4 ? args[4] : "http://localhost:8080");
+        InetSocketAddress address = new InetSocketAddress(base.getHost(), base.getPort() > 0 ? base.getPort() : 80);
+
+        seed(address);
+
+        AtomicLong errors = new AtomicLong();
+        AtomicLong reconnects = new AtomicLong();
+        LatencyLog[] logs = new LatencyLog[connections];
+        CountDownLatch connected = new CountDownLatch(connections);
+        long connectStart = System.nanoTime();
+        long[] window = new long[2];
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                LatencyLog log = logs[c] = new LatencyLog();
+                clients.submit(() -> {
+                    Connection connection = null;
+                    try {
+                        connection = Connection.open(address);
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        connected.countDown();
+                    }
+                    start.await();
+                    while (true) {
+                        long now = System.nanoTime();
+                        if (now >= window[1]) {
+                            break;
+                        }
+                        try {
+                            if (connection == null) {
+                                connection = Connection.open(address);
+                                reconnects.incrementAndGet();
+                            }
+                            long id = 1 + ThreadLocalRandom.current().nextInt(STUDENTS);
+                            int status = ThreadLocalRandom.current().nextInt(100) < writePercent
+                                    ? connection.send("PUT", "/api/students/" + id, student(id))
+                                    : connection.send("GET", "/api/students/" + id, null);
+                            long latency = System.nanoTime() - now;
+                            if (now < window[0]) {
+                                // warming up
+                            } else if (status != 200) {
+                                errors.incrementAndGet();
+                            } else {
+                                log.add(latency);
+                            }
+                            if (connection.closedByServer) {
+                                connection.close();
+                                connection = null;
+                            }
+                        } catch (IOException e) {
+                            if (now >= window[0]) {
+                                errors.incrementAndGet();
+                            }
+                            if (connection != null) {
+                                connection.close();
+                                connection = null;
+                            }
+                        }
+                    }
+                    if (connection != null) {
+                        connection.close();
+                    }
+                    return null;
+                });
+            }
+            connected.await();
+            long connectMillis = (System.nanoTime() - connectStart) / 1_000_000;
+            window[0] = System.nanoTime() + WARMUP_NANOS;
+            window[1] = window[0] + seconds * 1_000_000_000L;
+            start.countDown();
+            clients.shutdown();
+            clients.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+
+            int total = 0;
+            for (LatencyLog log : logs) {
+                total += log.size;
+            }
+            long[] latencies = new long[total];
+            int at = 0;
+            for (LatencyLog log : logs) {
+                System.arraycopy(log.nanos, 0, latencies, at, log.size);
+                at += log.size;
+            }
+            Arrays.sort(latencies);
+
+            System.out.printf(Locale.ROOT,
+                    "{\"label\":\"%s\",\"connections\":%d,\"seconds\":%d,\"writePercent\":%d,\"connectMillis\":%d,"
+                            + "\"requests\":%d,\"errors\":%d,\"reconnects\":%d,\"throughputRps\":%.1f,"
+                            + "\"p50Micros\":%d,\"p99Micros\":%d,\"p999Micros\":%d,\"maxMicros\":%d}%n",
+                    label, connections, seconds, writePercent, connectMillis, total, errors.get(), reconnects.get(),
+                    (double) total / seconds, percentile(latencies, 0.50) / 1_000, percentile(latencies, 0.99) / 1_000,
+                    percentile(latencies, 0.999) / 1_000, total == 0 ? 0 : latencies[total - 1] / 1_000);
+        }
+    }
+
+    private static void seed(InetSocketAddress address) throws IOException {
+        try (Connection connection = Connection.open(address)) {
+            for (long id = 1; id <= STUDENTS; id++) {
+                if (connection.closedByServer) {
+                    connection.reopen();
+                }
+                int status = connection.send("PUT", "/api/students/" + id, student(id));
+                if (status != 200) {
+                    throw new IllegalStateException("Seeding student " + id + " failed with HTTP " + status);
+                }
+            }
+        }
+    }
+
+    private static String student(long id) {
+        return "{\"name\":\"Load Test " + id + "\",\"email\":\"load" + id + "@example.com\",\"course\":\"Physics\"}";
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))];
+    }
+
+    /** Growable primitive buffer, written only by its connection's thread. */
+    private static final class LatencyLog {
+        private long[] nanos = new long[64];
+        private int size;
+
+        void add(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+    }
+
+    /** Minimal HTTP/1.1 keep-alive client; just enough to read the responses of this API. */
+    private static final class Connection implements AutoCloseable {
+        private final InetSocketAddress address;
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+        private boolean closedByServer;
+
+        private Connection(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        static Connection open(InetSocketAddress address) throws IOException {
+            Connection connection = new Connection(address);
+            connection.reopen();
+            return connection;
+        }
+
+        void reopen() throws IOException {
+            close();
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(address, 60_000);
+            in = new BufferedInputStream(socket.getInputStream());
+            out = socket.getOutputStream();
+            closedByServer = false;
+        }
+
+        int send(String method, String path, String json) throws IOException {
+            byte[] body = json == null ? new byte[0] : json.getBytes(StandardCharsets.UTF_8);
+            StringBuilder request = new StringBuilder()
+                    .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+                    .append("Host: ").append(address.getHostString()).append(':').append(address.getPort()).append("\r\n")
+                    .append("Accept: application/json\r\n");
+            if (json != null) {
+                request.append("Content-Type: application/json\r\nContent-Length: ").append(body.length).append("\r\n");
+            }
+            request.append("\r\n");
+            out.write(request.toString().getBytes(StandardCharsets.US_ASCII));
+            out.write(body);
+            out.flush();
+            return readResponse();
+        }
+
+        private int readResponse() throws IOException {
+            String statusLine = readLine();
+            int status = Integer.parseInt(statusLine.substring(9, 12));
+            long contentLength = -1;
+            boolean chunked = false;
+            String header;
+            while (!(header = readLine()).isEmpty()) {
+                String lower = header.toLowerCase(Locale.ROOT);
+                if (lower.startsWith("content-length:")) {
+                    contentLength = Long.parseLong(lower.substring(15).trim());
+                } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                    chunked = true;
+                } else if (lower.startsWith("connection:") && lower.contains("close")) {
+                    closedByServer = true;
+                }
+            }
+            if (chunked) {
+                long chunk;
+                while ((chunk = Long.parseLong(readLine().split(";")[0].trim(), 16)) > 0) {
+                    skip(chunk);
+                    readLine();
+                }
+                while (!readLine().isEmpty()) {
+                    // trailers
+                }
+            } else if (contentLength > 0) {
+                skip(contentLength);
+            }
+            return status;
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    throw new EOFException("Connection closed mid-response");
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.US_ASCII);
+        }
+
+        private void skip(long bytes) throws IOException {
+            long remaining = bytes;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new EOFException("Connection closed mid-body");
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+    }
+}
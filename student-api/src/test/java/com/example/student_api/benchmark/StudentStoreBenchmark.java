@@ -0,0 +1,96 @@
+package com.example.student_api.benchmark;
+
+import com.example.student_api.model.Student;
+import com.example.student_api.store.HeapStudentStore;
+import com.example.student_api.store.OffHeapStudentStore;
+import com.example.student_api.store.StudentStore;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares heap footprint, off-heap footprint, GC time and point-read latency of the
+ * student store modes. Run each mode in a fresh JVM so the numbers don't bleed into
+ * each other:
+ *
+ * <pre>
+ * ./mvnw test-compile
+ * java -cp "target/classes:target/test-classes:$(./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.student_api.benchmark.StudentStoreBenchmark heap 5000000
+ * ... StudentStoreBenchmark off-heap 5000000
+ * </pre>
+ */
+public class StudentStoreBenchmark {
+
+    private static final String[] COURSES = {
+        "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+        "Economics", "History", "Philosophy", "Data Science", "Software Engineering"
+    };
+    private static final int LOOKUPS = 1_000_000;
+
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "heap";
+        int records = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        StudentStore store = "off-heap".equals(mode) ? new OffHeapStudentStore() : new HeapStudentStore();
+
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = directBytes();
+        long gcBefore = gcMillis();
+        long loadStart = System.nanoTime();
+        for (long id = 1; id <= records; id++) {
+            store.put(new Student(id, "Student Number " + id, "student" + id + "@example.com", COURSES[(int) (id % COURSES.length)]));
+        }
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+        long gcDuringLoad = gcMillis() - gcBefore;
+        long heapBytes = usedHeapAfterGc() - heapBefore;
+        long directBytesUsed = directBytes() - directBefore;
+
+        // Warm up, then time individual random point reads
+        long[] latencies = new long[LOOKUPS];
+        long checksum = 0;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < LOOKUPS; i++) {
+                long id = 1 + ThreadLocalRandom.current().nextLong(records);
+                long start = System.nanoTime();
+                Student student = store.get(id);
+                latencies[i] = System.nanoTime() - start;
+                checksum += student.getName().length();
+            }
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf(
+                "{\"mode\":\"%s\",\"records\":%d,\"heapBytes\":%d,\"offHeapBytes\":%d,\"heapBytesPerRecord\":%.1f,"
+                        + "\"loadMillis\":%d,\"gcMillisDuringLoad\":%d,\"getP50Nanos\":%d,\"getP99Nanos\":%d,"
+                        + "\"getP999Nanos\":%d,\"checksum\":%d}%n",
+                mode, records, heapBytes, directBytesUsed, (double) heapBytes / records, loadMillis, gcDuringLoad,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999), checksum);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))];
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directBytes() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.student_api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CarrierThreadMetricsTest {
+
+    @Test
+    void testReportsCarriersAndTheirCpuTime() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CarrierThreadMetrics().bindTo(registry);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread spinner = Thread.ofVirtual().start(() -> {
+            long until = System.nanoTime() + 200_000_000L;
+            while (running.get() && System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+        });
+        try {
+            // Sample while the virtual thread is mounted so its carrier is alive
+            Thread.sleep(100);
+            assertTrue(registry.get("jvm.threads.virtual.carriers").gauge().value() >= 1);
+        } finally {
+            running.set(false);
+            spinner.join();
+        }
+
+        assertTrue(registry.get("jvm.threads.virtual.carrier.cpu").functionCounter().count() > 0);
+        assertTrue(registry.get("jvm.threads.virtual.carrier.parallelism").gauge().value() >= 1);
+        double utilization = registry.get("jvm.threads.virtual.carrier.utilization").gauge().value();
+        assertTrue(utilization >= 0, "utilization " + utilization);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.student_api.config;
+
+import com.example.student_api.controller.StudentController;
+import com.example.student_api.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("lazy")
+public class LazyProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void testOnlyTheApiDocsWaitForTheirFirstRequest() throws Exception {
+        String docs = beanFactory.getBeanNamesForType(OpenApiWebMvcResource.class, false, false)[0];
+        String config = beanFactory.getBeanNamesForType(OpenApiConfig.class, false, false)[0];
+        assertFalse(beanFactory.containsSingleton(docs));
+        assertFalse(beanFactory.containsSingleton(config));
+        assertTrue(beanFactory.containsSingleton(beanFactory.getBeanNamesForType(StudentController.class)[0]));
+        assertTrue(beanFactory.containsSingleton(beanFactory.getBeanNamesForType(StudentService.class)[0]));
+
+        mockMvc.perform(get("/api-docs")).andExpect(status().isOk());
+        assertTrue(beanFactory.containsSingleton(docs));
+        assertTrue(beanFactory.containsSingleton(config));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.student_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "student.concurrency-limit.enabled=true",
+        "student.rate-limit.enabled=true",
+        "student.rate-limit.capacity=2",
+        "student.rate-limit.refill-per-second=0.25"
+})
+@AutoConfigureMockMvc
+public class LoadSheddingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testClientIsRateLimitedPerEndpoint() throws Exception {
+        mockMvc.perform(get("/api/students/{id}", 900001).with(client("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/{id}", 900002).with(client("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/{id}", 900003).with(client("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "4"));
+
+        // The more specific pattern is its own endpoint
+        mockMvc.perform(get("/api/students/by-email/nobody@example.com").with(client("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/{id}", 900003).with(client("10.0.0.2"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health").with(client("10.0.0.1"))).andExpect(status().isOk());
+
+        assertEquals(1, meterRegistry.get("http.server.rate_limit.rejected").tag("uri", "/api/students/{id}")
+                .counter().count());
+        // 10.0.0.1 on both endpoints and 10.0.0.2; actuator has none
+        assertEquals(3, meterRegistry.get("http.server.rate_limit.buckets").gauge().value());
+        assertEquals(100, meterRegistry.get("http.server.concurrency.limit").gauge().value());
+    }
+
+    private static RequestPostProcessor client(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
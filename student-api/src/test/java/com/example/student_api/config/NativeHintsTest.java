@@ -0,0 +1,25 @@
+package com.example.student_api.config;
+
+import com.example.student_api.model.Student;
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void testRegistersStudentApiDocsAndSwaggerUi() throws Exception {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(Student.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Student.class, "setEmail").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Student.class, "email").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(OpenAPIDefinition.class, "info").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/resources/webjars/swagger-ui/5.17.14/index.html").test(hints));
+    }
+}
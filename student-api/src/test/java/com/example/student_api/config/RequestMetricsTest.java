@@ -0,0 +1,46 @@
+package com.example.student_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class RequestMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRecordsPayloadSizesAndServiceTimings() throws Exception {
+        String body = "{\"name\":\"Metered Student\",\"email\":\"metered@example.com\",\"course\":\"Statistics\"}";
+        mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/by-email/metered@example.com")).andExpect(status().isOk());
+
+        assertEquals(body.length(), meterRegistry.get("http.server.request.size").tag("uri", "/api/students")
+                .summary().totalAmount());
+        assertTrue(meterRegistry.get("http.server.response.size").tag("uri", "/api/students/by-email/{email}")
+                .summary().totalAmount() > 0);
+        assertEquals(1, meterRegistry.get("service.method").tag("method", "getStudentByEmail").timer().count());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(scrape.matches("(?s).*http_server_requests_seconds\\{[^}]*uri=\"/api/students/by-email/\\{email}\",quantile=\"0.999\"}.*"));
+        assertTrue(scrape.matches("(?s).*service_method_seconds\\{[^}]*method=\"createStudent\",quantile=\"0.99\"}.*"));
+    }
+}
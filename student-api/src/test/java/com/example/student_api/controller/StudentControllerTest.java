@@ -1,5 +1,6 @@
 package com.example.student_api.controller;
 
+import com.example.student_api.exception.DuplicateEmailException;
 import com.example.student_api.model.Student;
 import com.example.student_api.service.StudentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -8,19 +9,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// Mockito generates its mocks at runtime, which a native image can't do; the same endpoints
+// run natively in StudentApiIntegrationTest
 @WebMvcTest(StudentController.class)
+@Import(ResourceVersions.class)
+@DisabledInAotMode
 public class StudentControllerTest {
 
     @Autowired
@@ -68,6 +80,55 @@ public class StudentControllerTest {
                 .andExpect(jsonPath("$[1].name").value("Jane Smith"));
     }
 
+    @Test
+    void testStreamAllStudentsAsNdjson() throws Exception {
+        when(studentService.iterateStudents()).thenReturn(Arrays.asList(
+                testStudent,
+                new Student(2L, "Jane Smith", "jane.smith@example.com", "Mathematics")
+        ));
+
+        MvcResult result = mockMvc.perform(get("/api/students").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(testStudent) + "\n"
+                                + objectMapper.writeValueAsString(new Student(2L, "Jane Smith", "jane.smith@example.com", "Mathematics")) + "\n"));
+    }
+
+    @Test
+    void testGetStudentsByCourse() throws Exception {
+        when(studentService.getStudentsByCourse("Computer Science")).thenReturn(List.of(testStudent));
+
+        mockMvc.perform(get("/api/students").param("course", "Computer Science"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].course").value("Computer Science"));
+    }
+
+    @Test
+    void testGetStudentByEmail() throws Exception {
+        when(studentService.getStudentByEmail("john.doe@example.com")).thenReturn(testStudent);
+
+        mockMvc.perform(get("/api/students/by-email/john.doe@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.email").value("john.doe@example.com"));
+    }
+
+    @Test
+    void testCreateStudentWithDuplicateEmail() throws Exception {
+        when(studentService.createStudent(any(Student.class))).thenThrow(new DuplicateEmailException("john.doe@example.com"));
+
+        mockMvc.perform(post("/api/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testStudent)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void testGetStudentById() throws Exception {
         when(studentService.getStudentById(1L)).thenReturn(testStudent);
@@ -108,4 +169,31 @@ public class StudentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Student not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetStudentByIdNotModified() throws Exception {
+        when(studentService.getStudentById(1L)).thenReturn(testStudent);
+
+        String etag = mockMvc.perform(get("/api/students/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/students/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(studentService, times(1)).getStudentById(1L);
+
+        when(studentService.deleteStudent(2L)).thenReturn(true);
+        mockMvc.perform(delete("/api/students/2")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        when(studentService.updateStudent(eq(1L), any(Student.class))).thenReturn(testStudent);
+        mockMvc.perform(put("/api/students/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testStudent)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+}
@@ -1,16 +1,30 @@
 package com.example.student_api.integration;
 
 import com.example.student_api.model.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -22,6 +36,9 @@ public class StudentApiIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void testCompleteStudentLifecycle() {
         String baseUrl = "http://localhost:" + port + "/api/students";
@@ -85,4 +102,57 @@ public class StudentApiIntegrationTest {
         ResponseEntity<String> infoResponse = restTemplate.getForEntity("http://localhost:" + port + "/actuator/info", String.class);
         assertEquals(HttpStatus.OK, infoResponse.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLargeListsAreGzippedAndSmallBodiesAreNot() throws Exception {
+        // gzip is applied by Tomcat, so only a real connector shows it
+        Long smallStudentId = createStudents(40);
+
+        HttpResponse<byte[]> list = get("/api/students", "application/json", true);
+        assertEquals(Optional.of("gzip"), list.headers().firstValue(HttpHeaders.CONTENT_ENCODING));
+        Student[] students = objectMapper.readValue(new GZIPInputStream(new ByteArrayInputStream(list.body())), Student[].class);
+        assertTrue(students.length >= 40);
+
+        HttpResponse<byte[]> item = get("/api/students/" + smallStudentId, "application/json", true);
+        assertEquals(200, item.statusCode());
+        assertEquals(Optional.empty(), item.headers().firstValue(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testCborAndSmileAreNegotiatedThroughAccept() throws Exception {
+        createStudents(5);
+        HttpResponse<byte[]> json = get("/api/students", "application/json", false);
+        String expected = objectMapper.writeValueAsString(objectMapper.readValue(json.body(), Student[].class));
+
+        HttpResponse<byte[]> cbor = get("/api/students", "application/cbor", false);
+        assertEquals(Optional.of("application/cbor"), cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE));
+        assertEquals(expected, objectMapper.writeValueAsString(new CBORMapper().readValue(cbor.body(), Student[].class)));
+
+        HttpResponse<byte[]> smile = get("/api/students", "application/x-jackson-smile", false);
+        assertEquals(Optional.of("application/x-jackson-smile"), smile.headers().firstValue(HttpHeaders.CONTENT_TYPE));
+        assertEquals(expected, objectMapper.writeValueAsString(new SmileMapper().readValue(smile.body(), Student[].class)));
+        assertTrue(smile.body().length < json.body().length);
+
+        // Each format has its own tag, so a cached JSON body is never revalidated for a CBOR request
+        assertNotEquals(json.headers().firstValue(HttpHeaders.ETAG), cbor.headers().firstValue(HttpHeaders.ETAG));
+    }
+
+    private Long createStudents(int count) {
+        String run = UUID.randomUUID().toString();
+        Long id = null;
+        for (int i = 0; i < count; i++) {
+            Student student = new Student(null, "Payload Student " + i, "payload" + i + "." + run + "@example.com", "Compression");
+            id = restTemplate.postForEntity("http://localhost:" + port + "/api/students", student, Student.class).getBody().getId();
+        }
+        return id;
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
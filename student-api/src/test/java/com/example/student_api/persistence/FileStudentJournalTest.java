@@ -0,0 +1,153 @@
+package com.example.student_api.persistence;
+
+import com.example.student_api.model.Student;
+import com.example.student_api.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileStudentJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStateSurvivesRestart() {
+        try (FileStudentJournal journal = newJournal(1_000)) {
+            StudentService service = new StudentService(journal);
+            service.createStudent(new Student(null, "John Doe", "john@example.com", "Math"));
+            service.createStudent(new Student(null, "Jane Doe", "jane@example.com", "Physics"));
+            service.createStudent(new Student(null, "Max Doe", "max@example.com", "Physics"));
+            service.updateStudent(2L, new Student(null, "Jane Smith", "jane.smith@example.com", "Math"));
+            service.deleteStudent(3L);
+        }
+
+        try (FileStudentJournal journal = newJournal(1_000)) {
+            StudentService service = new StudentService(journal);
+            assertEquals(2, service.getAllStudents().size());
+            assertEquals("Jane Smith", service.getStudentById(2L).getName());
+            assertNull(service.getStudentById(3L));
+            assertEquals(2L, service.getStudentByEmail("jane.smith@example.com").getId());
+            assertEquals(2, service.getStudentsByCourse("Math").size());
+            assertEquals(4L, service.createStudent(new Student(null, "New", "new@example.com", "Art")).getId());
+        }
+    }
+
+    @Test
+    void testSnapshotCompactsLogAndTailIsReplayed() throws IOException {
+        try (FileStudentJournal journal = newJournal(3)) {
+            StudentService service = new StudentService(journal);
+            for (int i = 0; i < 5; i++) {
+                service.createStudent(new Student(null, "Student " + i, i + "@example.com", "Math"));
+            }
+            assertTrue(journal.isSnapshotDue());
+            service.snapshotIfDue();
+            assertFalse(journal.isSnapshotDue());
+
+            service.deleteStudent(1L);
+            service.updateStudent(2L, new Student(null, "Renamed", "1@example.com", "Art"));
+        }
+
+        assertEquals(1, countFiles("snapshot-"));
+        assertEquals(1, countFiles("wal-"));
+
+        try (FileStudentJournal journal = newJournal(3)) {
+            StudentService service = new StudentService(journal);
+            assertEquals(4, service.getAllStudents().size());
+            assertNull(service.getStudentById(1L));
+            assertEquals("Renamed", service.getStudentById(2L).getName());
+            assertEquals(6L, service.createStudent(new Student(null, "New", "new@example.com", "Art")).getId());
+        }
+    }
+
+    @Test
+    void testTornTailIsTruncatedOnRecovery() throws IOException {
+        try (FileStudentJournal journal = newJournal(1_000)) {
+            StudentService service = new StudentService(journal);
+            service.createStudent(new Student(null, "John Doe", "john@example.com", "Math"));
+            service.createStudent(new Student(null, "Jane Doe", "jane@example.com", "Math"));
+        }
+        Path segment = files("wal-").get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        try (FileStudentJournal journal = newJournal(1_000)) {
+            StudentService service = new StudentService(journal);
+            assertEquals(1, service.getAllStudents().size());
+            service.createStudent(new Student(null, "Max Doe", "max@example.com", "Math"));
+        }
+        try (FileStudentJournal journal = newJournal(1_000)) {
+            StudentService service = new StudentService(journal);
+            assertEquals(2, service.getAllStudents().size());
+            assertNotNull(service.getStudentByEmail("max@example.com"));
+        }
+    }
+
+    @Test
+    void testConcurrentWritersWithSnapshotsLoseNothing() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        try (FileStudentJournal journal = newJournal(200)) {
+            StudentService service = new StudentService(journal);
+            ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            service.createStudent(new Student(null, "S", thread + "-" + i + "@example.com", "Math"));
+                        }
+                    }));
+                }
+                Future<?> snapshots = executor.submit(() -> {
+                    while (futures.stream().anyMatch(future -> !future.isDone())) {
+                        service.snapshotIfDue();
+                    }
+                });
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+                snapshots.get(60, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        try (FileStudentJournal journal = newJournal(200)) {
+            StudentService service = new StudentService(journal);
+            assertEquals(threads * perThread, service.getAllStudents().size());
+        }
+    }
+
+    private FileStudentJournal newJournal(long snapshotEveryRecords) {
+        return new FileStudentJournal(directory, true, snapshotEveryRecords, Duration.ofHours(1));
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        return files(prefix).size();
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.student_api.service;
+
+import com.example.student_api.exception.DuplicateEmailException;
+import com.example.student_api.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentServiceTest {
+
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 2_000;
+
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentService = new StudentService();
+    }
+
+    @Test
+    void testCreateAssignsSequentialIds() {
+        Student first = studentService.createStudent(new Student(null, "John Doe", "john@example.com", "Math"));
+        Student second = studentService.createStudent(new Student(null, "Jane Doe", "jane@example.com", "Math"));
+
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertSame(second, studentService.getStudentById(2L));
+    }
+
+    @Test
+    void testCreateAfterUpsertDoesNotReuseId() {
+        studentService.updateStudent(5L, new Student(null, "Upserted", "upsert@example.com", "Math"));
+
+        Student created = studentService.createStudent(new Student(null, "Created", "created@example.com", "Math"));
+
+        assertEquals(6L, created.getId());
+        assertEquals("Upserted", studentService.getStudentById(5L).getName());
+    }
+
+    @Test
+    void testLookupByEmailAndCourse() {
+        studentService.createStudent(new Student(null, "John Doe", "John@Example.com", "Computer Science"));
+        studentService.createStudent(new Student(null, "Jane Doe", "jane@example.com", "Computer Science"));
+        studentService.createStudent(new Student(null, "Max Doe", "max@example.com", "Physics"));
+
+        assertEquals("John Doe", studentService.getStudentByEmail("john@example.com").getName());
+        assertNull(studentService.getStudentByEmail("nobody@example.com"));
+        assertEquals(List.of(1L, 2L), studentService.getStudentsByCourse("computer science").stream().map(Student::getId).toList());
+        assertTrue(studentService.getStudentsByCourse("History").isEmpty());
+    }
+
+    @Test
+    void testIndexesFollowUpdatesAndDeletes() {
+        studentService.createStudent(new Student(null, "John Doe", "john@example.com", "Math"));
+
+        studentService.updateStudent(1L, new Student(null, "John Doe", "johnny@example.com", "Physics"));
+        assertNull(studentService.getStudentByEmail("john@example.com"));
+        assertEquals(1L, studentService.getStudentByEmail("johnny@example.com").getId());
+        assertTrue(studentService.getStudentsByCourse("Math").isEmpty());
+        assertEquals(1, studentService.getStudentsByCourse("Physics").size());
+
+        assertTrue(studentService.deleteStudent(1L));
+        assertNull(studentService.getStudentByEmail("johnny@example.com"));
+        assertTrue(studentService.getStudentsByCourse("Physics").isEmpty());
+    }
+
+    @Test
+    void testDuplicateEmailIsRejected() {
+        studentService.createStudent(new Student(null, "John Doe", "john@example.com", "Math"));
+        Student other = studentService.createStudent(new Student(null, "Jane Doe", "jane@example.com", "Math"));
+
+        assertThrows(DuplicateEmailException.class,
+                () -> studentService.createStudent(new Student(null, "Copy", "JOHN@example.com", "Math")));
+        assertThrows(DuplicateEmailException.class,
+                () -> studentService.updateStudent(other.getId(), new Student(null, "Jane Doe", "john@example.com", "Math")));
+        assertEquals("jane@example.com", studentService.getStudentById(other.getId()).getEmail());
+        assertEquals(other.getId(), studentService.getStudentByEmail("jane@example.com").getId());
+    }
+
+    @Test
+    void testConcurrentCourseChangesKeepIndexesConsistent() throws Exception {
+        for (int i = 0; i < THREADS * 10; i++) {
+            studentService.createStudent(new Student(null, "Student " + i, i + "@example.com", "Course 0"));
+        }
+
+        // Every thread keeps moving all students between courses, contending on the same ids
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPS_PER_THREAD / 10; i++) {
+                for (long id = 1; id <= THREADS * 10; id++) {
+                    studentService.updateStudent(id, new Student(null, "Student " + id, (id - 1) + "@example.com", "Course " + (i % 3)));
+                }
+            }
+        });
+
+        int indexed = 0;
+        for (int course = 0; course < 3; course++) {
+            for (Student student : studentService.getStudentsByCourse("Course " + course)) {
+                assertEquals("Course " + course, student.getCourse());
+                indexed++;
+            }
+        }
+        assertEquals(THREADS * 10, indexed);
+        for (Student student : studentService.getAllStudents()) {
+            assertSame(student, studentService.getStudentByEmail(student.getEmail()));
+        }
+    }
+
+    @Test
+    void testConcurrentCreatesLoseNoWritesAndNeverDuplicateIds() throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                Student created = studentService.createStudent(
+                        new Student(null, "Student " + thread + "-" + i, thread + "-" + i + "@example.com", "Course " + thread));
+                assertTrue(ids.add(created.getId()), "duplicate id " + created.getId());
+            }
+        });
+
+        assertEquals(THREADS * OPS_PER_THREAD, ids.size());
+        assertEquals(THREADS * OPS_PER_THREAD, studentService.getAllStudents().size());
+    }
+
+    @Test
+    void testConcurrentUpdatesAndDeletesLeaveConsistentState() throws Exception {
+        for (int i = 0; i < THREADS * OPS_PER_THREAD; i++) {
+            studentService.createStudent(new Student(null, "Student " + i, i + "@example.com", "Course"));
+        }
+
+        // Each thread owns a disjoint id range: even ids are updated, odd ids deleted
+        runConcurrently(thread -> {
+            long start = (long) thread * OPS_PER_THREAD + 1;
+            for (long id = start; id < start + OPS_PER_THREAD; id++) {
+                if (id % 2 == 0) {
+                    studentService.updateStudent(id, new Student(null, "Updated " + id, (id - 1) + "@example.com", "Course"));
+                } else {
+                    assertTrue(studentService.deleteStudent(id));
+                }
+                // Readers iterate while writers run and must never fail
+                if (id % 500 == 0) {
+                    assertNotNull(studentService.getAllStudents());
+                }
+            }
+        });
+
+        List<Student> remaining = studentService.getAllStudents();
+        assertEquals(THREADS * OPS_PER_THREAD / 2, remaining.size());
+        for (Student student : remaining) {
+            assertEquals(0, student.getId() % 2);
+            assertEquals("Updated " + student.getId(), student.getName());
+        }
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
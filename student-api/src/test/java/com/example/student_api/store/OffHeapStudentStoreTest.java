@@ -0,0 +1,177 @@
+package com.example.student_api.store;
+
+import com.example.student_api.model.Student;
+import com.example.student_api.persistence.StudentJournal;
+import com.example.student_api.service.StudentService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapStudentStoreTest {
+
+    private final OffHeapStudentStore store = new OffHeapStudentStore();
+
+    @Test
+    void testPutGetAndRemove() {
+        store.put(new Student(1L, "John Doe", "john@example.com", "Computer Science"));
+        store.put(new Student(40_000L, "Jane Doe", "jane@example.com", "Computer Science"));
+
+        Student john = store.get(1L);
+        assertEquals(1L, john.getId());
+        assertEquals("John Doe", john.getName());
+        assertEquals("john@example.com", john.getEmail());
+        assertEquals("Computer Science", john.getCourse());
+        assertEquals("Jane Doe", store.get(40_000L).getName());
+        assertNull(store.get(2L));
+        assertEquals(2, store.size());
+
+        assertTrue(store.remove(1L));
+        assertFalse(store.remove(1L));
+        assertNull(store.get(1L));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testNullAndUnicodeFieldsRoundTrip() {
+        store.put(new Student(7L, null, "zoë@example.com", null));
+
+        Student student = store.get(7L);
+        assertNull(student.getName());
+        assertEquals("zoë@example.com", student.getEmail());
+        assertNull(student.getCourse());
+    }
+
+    @Test
+    void testIteratesInIdOrderAcrossSegments() {
+        long[] ids = {70_000L, 3L, 16_384L, 1L};
+        for (long id : ids) {
+            store.put(new Student(id, "Student " + id, id + "@example.com", "Math"));
+        }
+
+        List<Long> iterated = new ArrayList<>();
+        store.forEach(student -> iterated.add(student.getId()));
+
+        assertEquals(List.of(1L, 3L, 16_384L, 70_000L), iterated);
+    }
+
+    @Test
+    void testRepeatedOverwritesReclaimStringSpace() {
+        for (int i = 0; i < 200_000; i++) {
+            store.put(new Student(1L + i % 10, "Name " + i, i + "@example.com", "Course " + i % 5));
+        }
+
+        assertEquals(10, store.size());
+        assertEquals("Name 199999", store.get(10L).getName());
+        assertEquals("Course 4", store.get(10L).getCourse());
+        // Only the live strings of ten rows survive compaction, so the string area stays small
+        assertTrue(store.offHeapBytes() < 1 << 20, "off-heap bytes " + store.offHeapBytes());
+    }
+
+    @Test
+    void testSparseIdsCostAPageEachAndAreFreedOnRemove() {
+        // One id per segment, as a client walking ids in steps of 16384 would upsert them
+        for (long i = 0; i < 100; i++) {
+            store.put(new Student(i * 16_384 + 16_383, "Sparse " + i, i + "@example.com", "Math"));
+        }
+
+        assertEquals(100, store.size());
+        assertEquals("Sparse 42", store.get(42 * 16_384 + 16_383).getName());
+        // A 256-row page plus a small string area per id, not a 16384-row table
+        assertTrue(store.offHeapBytes() < 100 * 8 * 1024, "off-heap bytes " + store.offHeapBytes());
+
+        for (long i = 0; i < 100; i++) {
+            assertTrue(store.remove(i * 16_384 + 16_383));
+        }
+        assertEquals(0, store.size());
+        assertEquals(0, store.offHeapBytes());
+        assertFalse(store.iterator().hasNext());
+        // The emptied pages wait for reuse instead of for the GC
+        assertEquals(100 * 256 * 20, store.freePageBytes());
+
+        // A segment dropped by its last remove is recreated by the next write
+        store.put(new Student(16_383L, "Back", "back@example.com", "Math"));
+        assertEquals("Back", store.get(16_383L).getName());
+        assertEquals(99 * 256 * 20, store.freePageBytes());
+    }
+
+    @Test
+    void testChurnOnSparseIdsReusesFreedPages() {
+        for (int round = 0; round < 50; round++) {
+            for (long i = 0; i < 100; i++) {
+                store.put(new Student(i * 16_384 + round, "Churn " + i, i + "@example.com", "Math"));
+            }
+            for (long i = 0; i < 100; i++) {
+                assertTrue(store.remove(i * 16_384 + round));
+            }
+            // Never more pages than the 100 the first round needed
+            assertEquals(100 * 256 * 20, store.freePageBytes());
+        }
+        assertEquals(0, store.size());
+
+        store.put(new Student(5L, "Reused", "reused@example.com", "Math"));
+        // The reused page was handed back with every row empty
+        List<Student> all = new ArrayList<>();
+        store.iterator().forEachRemaining(all::add);
+        assertEquals(1, all.size());
+        assertEquals("Reused", all.get(0).getName());
+    }
+
+    @Test
+    void testReadersNeverSeeTornRecords() throws Exception {
+        Student even = new Student(1L, "Even Name", "even@example.com", "Even Course");
+        Student odd = new Student(1L, "Odd name that is quite a bit longer", "odd@example.org", "Odd");
+        store.put(even);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        Student seen = store.get(1L);
+                        boolean isEven = seen.getName().equals(even.getName())
+                                && seen.getEmail().equals(even.getEmail()) && seen.getCourse().equals(even.getCourse());
+                        boolean isOdd = seen.getName().equals(odd.getName())
+                                && seen.getEmail().equals(odd.getEmail()) && seen.getCourse().equals(odd.getCourse());
+                        assertTrue(isEven || isOdd, "torn read: " + seen.getName() + "/" + seen.getEmail());
+                    }
+                    return null;
+                }));
+            }
+            executor.submit(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    store.put(i % 2 == 0 ? odd : even);
+                }
+                running.set(false);
+            }).get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testServiceWorksOnTopOfOffHeapStore() {
+        StudentService service = new StudentService(StudentJournal.NONE, store);
+        service.createStudent(new Student(null, "John Doe", "john@example.com", "Math"));
+        service.createStudent(new Student(null, "Jane Doe", "jane@example.com", "Physics"));
+        service.updateStudent(2L, new Student(null, "Jane Doe", "jane@example.com", "Math"));
+
+        assertEquals(2, service.getStudentsByCourse("Math").size());
+        assertEquals(2L, service.getStudentByEmail("jane@example.com").getId());
+        assertTrue(service.deleteStudent(1L));
+        assertEquals(1, service.getAllStudents().size());
+    }
+}
@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Compares requests per second per core of the MVC todo app (todoapp, Tomcat + JPA) and
+# its reactive twin (todoapp-reactive, Netty + R2DBC). Both servers are pinned to the same
+# CPUs, seeded with the same todos and driven by TodoStackBenchmark over the same endpoints.
+# One JSON line per stack and endpoint is appended to benchmark-results/todo-stacks.jsonl.
+#
+# Usage: ./compare-stacks.sh
+#   SERVER_CPUS=0-1 CLIENT_CPUS=2-3 ./compare-stacks.sh   # taskset CPU lists (default: server on 0, client unpinned)
+#   CONNECTIONS=256 MEASURE_SECONDS=30 ./compare-stacks.sh   # keep-alive connections and measured seconds
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+OUT="$DIR/../benchmark-results"
+SERVER_CPUS="${SERVER_CPUS:-0}"
+CORES="$(taskset -c "$SERVER_CPUS" nproc)"
+CONNECTIONS="${CONNECTIONS:-64}"
+SECONDS_MEASURED="${MEASURE_SECONDS:-20}"
+ENDPOINTS=("/api/todos/cursor?limit=20" "/api/todos/page?page=10&size=20" "/api/todos/search?keyword=report%2042")
+mkdir -p "$OUT"
+
+client() {
+    if [ -n "${CLIENT_CPUS:-}" ]; then
+        taskset -c "$CLIENT_CPUS" "$@"
+    else
+        "$@"
+    fi
+}
+
+(cd "$DIR/../web-support" && sh mvnw -q -B -DskipTests install)
+(cd "$DIR/todoapp" && sh mvnw -q -B -DskipTests package)
+(cd "$DIR/todoapp-reactive" && sh mvnw -q -B -DskipTests package)
+
+run() {
+    local stack="$1" jar="$2" port="$3"
+    # The MVC app's load shedding would answer part of the closed-loop load with 503s; the
+    # reactive app has none, so switch it off to compare the stacks themselves
+    taskset -c "$SERVER_CPUS" java -jar "$jar" --server.port="$port" --todo.concurrency-limit.enabled=false \
+        > "$OUT/todo-$stack.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+    until curl -s -o /dev/null "http://localhost:$port/api/todos/page"; do sleep 1; done
+
+    local batch="[" i
+    for i in $(seq 1 1000); do
+        batch+="{\"title\":\"Weekly report $i\",\"completed\":false},"
+    done
+    curl -s -o /dev/null -H 'Content-Type: application/json' -d "${batch%,}]" "http://localhost:$port/api/todos/batch"
+
+    local endpoint
+    for endpoint in "${ENDPOINTS[@]}"; do
+        echo "== $stack $endpoint"
+        client java -cp "$DIR/todoapp-reactive/target/test-classes" com.example.todoapp.reactive.benchmark.TodoStackBenchmark \
+            "$stack" "http://localhost:$port$endpoint" "$CONNECTIONS" "$SECONDS_MEASURED" "$CORES" | tee -a "$OUT/todo-stacks.jsonl"
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run mvc "$DIR/todoapp/target/todoapp-0.0.1-SNAPSHOT.jar" 8080
+run reactive "$DIR/todoapp-reactive/target/todoapp-reactive-0.0.1-SNAPSHOT.jar" 8081
@@ -0,0 +1,38 @@
+package com.example.todoapp.reactive.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import com.example.todoapp.reactive.model.ApiResponse;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(TodoNotFoundException.class)
+    public ResponseEntity<ApiResponse<String>> handleTodoNotFound(TodoNotFoundException ex) {
+        ApiResponse<String> response = new ApiResponse<>("error", ex.getMessage(), null);
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<String>> handleInvalidCursor(InvalidCursorException ex) {
+        ApiResponse<String> response = new ApiResponse<>("error", ex.getMessage(), null);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ApiResponse<String>> handleBatchTooLarge(BatchTooLargeException ex) {
+        ApiResponse<String> response = new ApiResponse<>("error", ex.getMessage(), null);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponse<String>> handleValidationErrors(WebExchangeBindException ex) {
+        String errorMsg = ex.getBindingResult().getFieldError().getDefaultMessage();
+        ApiResponse<String> response = new ApiResponse<>("error", errorMsg, null);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+}
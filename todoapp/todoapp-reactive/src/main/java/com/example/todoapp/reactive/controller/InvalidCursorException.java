@@ -0,0 +1,7 @@
+package com.example.todoapp.reactive.controller;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
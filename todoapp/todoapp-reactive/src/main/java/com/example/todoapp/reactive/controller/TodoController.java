@@ -0,0 +1,201 @@
+package com.example.todoapp.reactive.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todoapp.reactive.model.ApiResponse;
+import com.example.todoapp.reactive.model.BatchItemResult;
+import com.example.todoapp.reactive.model.CursorSlice;
+import com.example.todoapp.reactive.model.Todo;
+import com.example.todoapp.reactive.model.TodoDTO;
+import com.example.todoapp.reactive.service.TodoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking twin of the MVC {@code TodoController}: same paths, parameters and JSON.
+ * List endpoints return a {@link Flux} that is written out as rows arrive and only pulls
+ * more rows from the database when the connection can take them.
+ */
+@RestController
+@RequestMapping("/api/todos")
+@Tag(name = "Todo Management", description = "APIs for managing todo items")
+public class TodoController {
+	private static final int MAX_CURSOR_LIMIT = 100;
+	private static final int MAX_BATCH_ITEMS = 10_000;
+
+	@Autowired
+	private TodoService service;
+
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	@Operation(summary = "Get all todos", description = "Retrieve all todo items as a JSON array, or one per line with Accept: application/x-ndjson")
+	@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved todos")
+	public Flux<Todo> getTodos() {
+		return service.getAll();
+	}
+
+	@PostMapping
+	@Operation(summary = "Create a new todo", description = "Add a new todo item to the list")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todo created successfully"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input")
+	})
+	public Mono<Todo> addTodo(@RequestBody @Parameter(description = "Todo item to be created") Todo todo) {
+		return service.save(todo);
+	}
+
+	@PostMapping("/batch")
+	@Operation(summary = "Create todos in bulk", description = "Create up to 10,000 todos in one transaction. Results are returned per item, in request order")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Too many items")
+	})
+	public Mono<List<BatchItemResult>> addTodos(@RequestBody @Parameter(description = "Todo items to be created") List<Todo> todos) {
+		checkBatchSize(todos.size());
+		return service.createAll(todos);
+	}
+
+	@PutMapping("/batch")
+	@Operation(summary = "Update todos in bulk", description = "Update title and completed of up to 10,000 todos in one transaction. Unknown ids are reported per item")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Too many items")
+	})
+	public Mono<List<BatchItemResult>> updateTodos(@RequestBody @Parameter(description = "Todo items with their IDs") List<Todo> todos) {
+		checkBatchSize(todos.size());
+		return service.updateAll(todos);
+	}
+
+	@DeleteMapping("/batch")
+	@Operation(summary = "Delete todos in bulk", description = "Delete up to 10,000 todos by ID in one transaction. Unknown ids are reported per item")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Too many items")
+	})
+	public Mono<List<BatchItemResult>> deleteTodos(@RequestBody @Parameter(description = "IDs of the todos to delete") List<Long> ids) {
+		checkBatchSize(ids.size());
+		return service.deleteAll(ids);
+	}
+
+	@PutMapping("/{id}")
+	@Operation(summary = "Update a todo", description = "Update an existing todo item by ID")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todo updated successfully"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Todo not found")
+	})
+	public Mono<Todo> updateTodo(
+			@PathVariable @Parameter(description = "ID of the todo to update") Long id,
+			@RequestBody @Parameter(description = "Updated todo data") Todo todo) {
+		todo.setId(id);
+		return service.save(todo);
+	}
+
+	@DeleteMapping("/{id}")
+	@Operation(summary = "Delete a todo", description = "Remove a todo item by ID")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todo deleted successfully"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Todo not found")
+	})
+	public Mono<Void> deleteTodo(@PathVariable @Parameter(description = "ID of the todo to delete") Long id) {
+		return service.delete(id);
+	}
+
+	@GetMapping("/page")
+	@Operation(summary = "Get todos with pagination", description = "Retrieve todos with pagination support")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved paginated todos")
+	})
+	public Mono<Page<Todo>> getTodosWithPagination(
+			@RequestParam(defaultValue = "0") @Parameter(description = "Page number (0-indexed)") int page,
+			@RequestParam(defaultValue = "5") @Parameter(description = "Number of items per page") int size) {
+		Pageable pageable = PageRequest.of(page, size);
+		return service.getTodosPaginated(pageable);
+	}
+
+	@GetMapping("/cursor")
+	@Operation(summary = "Get todos with keyset pagination", description = "Retrieve todos in id order after an opaque cursor. Unlike /page there is no count query and no offset, so deep pages cost the same as the first one")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of todos"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Malformed cursor")
+	})
+	public Mono<CursorSlice<Todo>> getTodosAfterCursor(
+			@RequestParam(required = false) @Parameter(description = "nextCursor from the previous slice; omit for the first slice") String after,
+			@RequestParam(defaultValue = "20") @Parameter(description = "Maximum number of items to return (1-100)") int limit) {
+		int size = Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+		long afterId = decodeCursor(after);
+		// One extra row tells whether another slice follows, without a count query
+		return service.getTodosAfter(afterId, size + 1)
+				.collectList()
+				.map(rows -> {
+					boolean hasNext = rows.size() > size;
+					List<Todo> content = hasNext ? rows.subList(0, size) : rows;
+					String next = hasNext ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+					return new CursorSlice<>(content, hasNext, next);
+				});
+	}
+
+	@GetMapping("/search")
+	@Operation(summary = "Search todos", description = "Search for todos by keyword")
+	@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
+	public Flux<Todo> searchTodos(
+			@RequestParam @Parameter(description = "Keyword to search for in todo titles") String keyword) {
+		return service.searchTodos(keyword);
+	}
+
+	@GetMapping("/{id}")
+	@Operation(summary = "Get todo by ID", description = "Retrieve a specific todo item by its ID")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todo found successfully",
+			content = @Content(schema = @Schema(implementation = com.example.todoapp.reactive.model.ApiResponse.class))),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Todo not found")
+	})
+	public Mono<ApiResponse<TodoDTO>> getTodo(
+			@PathVariable @Parameter(description = "ID of the todo to retrieve") Long id) {
+		return service.getById(id)
+				.map(todo -> new ApiResponse<>("success", "Todo fetched", service.toDto(todo)));
+	}
+
+	private static void checkBatchSize(int size) {
+		if (size > MAX_BATCH_ITEMS) {
+			throw new BatchTooLargeException(size, MAX_BATCH_ITEMS);
+		}
+	}
+
+	private static String encodeCursor(long lastId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long decodeCursor(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return 0;
+		}
+		try {
+			return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(cursor);
+		}
+	}
+}
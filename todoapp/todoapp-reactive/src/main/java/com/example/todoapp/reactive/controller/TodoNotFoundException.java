@@ -0,0 +1,7 @@
+package com.example.todoapp.reactive.controller;
+
+public class TodoNotFoundException extends RuntimeException {
+    public TodoNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.todoapp.reactive.model;
+
+/**
+ * Outcome of one item of a batch request. {@code index} is the position of the item in the
+ * request, so results can be matched up even when some items fail.
+ */
+public class BatchItemResult {
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+
+    public BatchItemResult(int index, Long id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters & Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.reactive.model;
+
+public class TodoDTO {
+    private Long id;
+    private String title;
+    private boolean completed;
+
+    public TodoDTO() {
+    } // No-args constructor
+
+    // Getters & Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+}
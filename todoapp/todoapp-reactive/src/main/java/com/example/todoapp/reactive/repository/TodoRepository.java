@@ -0,0 +1,24 @@
+package com.example.todoapp.reactive.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import com.example.todoapp.reactive.model.Todo;
+
+import reactor.core.publisher.Flux;
+
+public interface TodoRepository extends R2dbcRepository<Todo, Long> {
+    Flux<Todo> findByTitleContainingIgnoreCase(String keyword);
+
+    Flux<Todo> findAllBy(Pageable pageable);
+
+    // Seeks straight to the cursor through the primary key index, so every slice costs
+    // the same however deep it is
+    Flux<Todo> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT id FROM todo WHERE id IN (:ids)")
+    Flux<Long> findExistingIds(Collection<Long> ids);
+}
@@ -0,0 +1,180 @@
+package com.example.todoapp.reactive.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.example.todoapp.reactive.controller.TodoNotFoundException;
+import com.example.todoapp.reactive.model.BatchItemResult;
+import com.example.todoapp.reactive.model.BatchItemResult.Status;
+import com.example.todoapp.reactive.model.Todo;
+import com.example.todoapp.reactive.model.TodoDTO;
+import com.example.todoapp.reactive.repository.TodoRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class TodoService {
+    // Batch requests look up existing rows this many ids at a time
+    private static final int CHUNK_SIZE = 50;
+
+    @Autowired
+    private TodoRepository repo;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    /** Emits todos as the database produces them, at the pace the subscriber requests them. */
+    public Flux<Todo> getAll() {
+        return repo.findAll();
+    }
+
+    /**
+     * Updates the todo with {@code todo}'s id, or inserts it with a fresh id when there is
+     * none or it doesn't exist, the same way a JPA merge would.
+     */
+    public Mono<Todo> save(Todo todo) {
+        if (todo.getId() == null) {
+            return repo.save(todo);
+        }
+        return repo.existsById(todo.getId())
+                .flatMap(exists -> {
+                    if (!exists) {
+                        todo.setId(null);
+                    }
+                    return repo.save(todo);
+                });
+    }
+
+    /** Inserts {@code todos} in one transaction, in request order. Client-supplied ids are ignored. */
+    public Mono<List<BatchItemResult>> createAll(List<Todo> todos) {
+        return Flux.range(0, todos.size())
+                .concatMap(i -> {
+                    Todo todo = todos.get(i);
+                    if (todo == null) {
+                        return Mono.just(new BatchItemResult(i, null, Status.INVALID, "Todo is required"));
+                    }
+                    todo.setId(null);
+                    return repo.save(todo).map(saved -> new BatchItemResult(i, saved.getId(), Status.CREATED, null));
+                })
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Updates title and completed of every todo whose id exists, in one transaction, with
+     * one lookup query per chunk of ids.
+     */
+    public Mono<List<BatchItemResult>> updateAll(List<Todo> todos) {
+        return Flux.range(0, (todos.size() + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .concatMap(c -> {
+                    int from = c * CHUNK_SIZE;
+                    List<Todo> chunk = todos.subList(from, Math.min(from + CHUNK_SIZE, todos.size()));
+                    List<Long> ids = chunk.stream().filter(Objects::nonNull).map(Todo::getId).filter(Objects::nonNull).toList();
+                    return repo.findAllById(ids)
+                            .collectMap(Todo::getId)
+                            .flatMapMany(existing -> Flux.range(0, chunk.size())
+                                    .concatMap(i -> update(from + i, chunk.get(i), existing)));
+                })
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Deletes every existing todo in {@code ids} in one transaction, with one existence
+     * check and one delete per chunk of ids.
+     */
+    public Mono<List<BatchItemResult>> deleteAll(List<Long> ids) {
+        return Flux.range(0, (ids.size() + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .concatMap(c -> {
+                    int from = c * CHUNK_SIZE;
+                    List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                    List<Long> lookup = chunk.stream().filter(Objects::nonNull).toList();
+                    Mono<HashSet<Long>> found = lookup.isEmpty()
+                            ? Mono.just(new HashSet<>())
+                            : repo.findExistingIds(lookup).collect(Collectors.toCollection(HashSet::new));
+                    return found.flatMapMany(existing -> {
+                        List<BatchItemResult> results = new ArrayList<>(chunk.size());
+                        Set<Long> toDelete = new HashSet<>(existing);
+                        for (int i = 0; i < chunk.size(); i++) {
+                            Long id = chunk.get(i);
+                            if (id == null) {
+                                results.add(new BatchItemResult(from + i, null, Status.INVALID, "Todo id is required"));
+                            } else if (existing.remove(id)) {
+                                results.add(new BatchItemResult(from + i, id, Status.DELETED, null));
+                            } else {
+                                results.add(new BatchItemResult(from + i, id, Status.NOT_FOUND, "Todo not found with ID " + id));
+                            }
+                        }
+                        Mono<Void> delete = toDelete.isEmpty() ? Mono.empty() : repo.deleteAllById(toDelete);
+                        return delete.thenMany(Flux.fromIterable(results));
+                    });
+                })
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Page<Todo>> getTodosPaginated(Pageable pageable) {
+        return repo.findAllBy(pageable)
+                .collectList()
+                .zipWith(repo.count(), (content, total) -> new PageImpl<>(content, pageable, total));
+    }
+
+    /**
+     * Emits up to {@code limit} todos with an id greater than {@code afterId}, in id order.
+     */
+    public Flux<Todo> getTodosAfter(long afterId, int limit) {
+        return repo.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
+    public Mono<Void> delete(Long id) {
+        return repo.deleteById(id);
+    }
+
+    /**
+     * Matches todos whose title contains {@code keyword}, ignoring case. This is the same
+     * match the MVC app falls back to while its in-memory search index is loading.
+     */
+    public Flux<Todo> searchTodos(String keyword) {
+        return repo.findByTitleContainingIgnoreCase(keyword);
+    }
+
+    public TodoDTO toDto(Todo todo) {
+        TodoDTO dto = new TodoDTO();
+        dto.setId(todo.getId());
+        dto.setTitle(todo.getTitle());
+        dto.setCompleted(todo.isCompleted());
+        return dto;
+    }
+
+    public Mono<Todo> getById(Long id) {
+        return repo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TodoNotFoundException("Todo not found with ID " + id)));
+    }
+
+    private Mono<BatchItemResult> update(int index, Todo changes, Map<Long, Todo> existing) {
+        if (changes == null || changes.getId() == null) {
+            return Mono.just(new BatchItemResult(index, null, Status.INVALID, "Todo id is required"));
+        }
+        Todo todo = existing.get(changes.getId());
+        if (todo == null) {
+            return Mono.just(new BatchItemResult(index, changes.getId(), Status.NOT_FOUND, "Todo not found with ID " + changes.getId()));
+        }
+        todo.setTitle(changes.getTitle());
+        todo.setCompleted(changes.isCompleted());
+        return repo.save(todo).map(saved -> new BatchItemResult(index, saved.getId(), Status.UPDATED, null));
+    }
+}
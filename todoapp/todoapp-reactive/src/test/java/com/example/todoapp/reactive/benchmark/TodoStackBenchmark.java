@@ -0,0 +1,217 @@
+package com.example.todoapp.reactive.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives one GET endpoint of a running todo server (MVC or reactive, they share the
+ * contract) from a fixed number of keep-alive connections and reports requests per second,
+ * requests per second per server core, and latency percentiles as one JSON line.
+ *
+ * <p>Arguments: label, url, connections, seconds measured, cores the server is pinned to.
+ * The first five seconds are warm-up and not measured. {@code compare-stacks.sh} next to
+ * the two apps builds both, pins each server to the same cores and runs this against them.
+ */
+public class TodoStackBenchmark {
+
+    private static final long WARMUP_NANOS = 5_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        String label = args.length > 0 ? args[0] : "unlabelled";
+        URI url = URI.create(args.length > 1 ? args[1] : "http://localhost:8080/api/todos/cursor?limit=20");
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        int serverCores = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+        InetSocketAddress address = new InetSocketAddress(url.getHost(), url.getPort() > 0 ? url.getPort() : 80);
+        String target = url.getRawPath() + (url.getRawQuery() != null ? "?" + url.getRawQuery() : "");
+
+        AtomicLong errors = new AtomicLong();
+        long[][] logs = new long[connections][];
+        int[] counts = new int[connections];
+        CountDownLatch start = new CountDownLatch(1);
+        long[] window = new long[2];
+
+        ExecutorService clients = Executors.newFixedThreadPool(connections);
+        for (int c = 0; c < connections; c++) {
+            int slot = c;
+            logs[slot] = new long[1 << 16];
+            clients.submit(() -> {
+                start.await();
+                Connection connection = null;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now >= window[1]) {
+                        break;
+                    }
+                    try {
+                        if (connection == null) {
+                            connection = new Connection(address);
+                        }
+                        int status = connection.get(target);
+                        long latency = System.nanoTime() - now;
+                        if (now < window[0]) {
+                            // warming up
+                        } else if (status != 200) {
+                            errors.incrementAndGet();
+                        } else {
+                            if (counts[slot] == logs[slot].length) {
+                                logs[slot] = Arrays.copyOf(logs[slot], counts[slot] * 2);
+                            }
+                            logs[slot][counts[slot]++] = latency;
+                        }
+                        if (connection.closedByServer) {
+                            connection.close();
+                            connection = null;
+                        }
+                    } catch (IOException e) {
+                        if (now >= window[0]) {
+                            errors.incrementAndGet();
+                        }
+                        if (connection != null) {
+                            connection.close();
+                            connection = null;
+                        }
+                    }
+                }
+                if (connection != null) {
+                    connection.close();
+                }
+                return null;
+            });
+        }
+        window[0] = System.nanoTime() + WARMUP_NANOS;
+        window[1] = window[0] + seconds * 1_000_000_000L;
+        start.countDown();
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int at = 0;
+        for (int c = 0; c < connections; c++) {
+            System.arraycopy(logs[c], 0, all, at, counts[c]);
+            at += counts[c];
+        }
+        Arrays.sort(all);
+        double rps = (double) total / seconds;
+
+        System.out.printf(Locale.ROOT,
+                "{\"label\":\"%s\",\"url\":\"%s\",\"connections\":%d,\"seconds\":%d,\"serverCores\":%d,"
+                        + "\"requests\":%d,\"errors\":%d,\"rps\":%.1f,\"rpsPerCore\":%.1f,"
+                        + "\"p50Micros\":%d,\"p99Micros\":%d,\"p999Micros\":%d}%n",
+                label, url, connections, seconds, serverCores, total, errors.get(), rps, rps / serverCores,
+                percentile(all, 0.50) / 1_000, percentile(all, 0.99) / 1_000, percentile(all, 0.999) / 1_000);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))];
+    }
+
+    /** Minimal HTTP/1.1 keep-alive client; reads just enough of each response to reuse the socket. */
+    private static final class Connection {
+        private final InetSocketAddress address;
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private boolean closedByServer;
+
+        Connection(InetSocketAddress address) throws IOException {
+            this.address = address;
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(address, 10_000);
+            in = new BufferedInputStream(socket.getInputStream());
+            out = socket.getOutputStream();
+        }
+
+        int get(String target) throws IOException {
+            String request = "GET " + target + " HTTP/1.1\r\nHost: " + address.getHostString() + ":" + address.getPort()
+                    + "\r\nAccept: application/json\r\n\r\n";
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            String statusLine = readLine();
+            int status = Integer.parseInt(statusLine.substring(9, 12));
+            long contentLength = -1;
+            boolean chunked = false;
+            String header;
+            while (!(header = readLine()).isEmpty()) {
+                String lower = header.toLowerCase(Locale.ROOT);
+                if (lower.startsWith("content-length:")) {
+                    contentLength = Long.parseLong(lower.substring(15).trim());
+                } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                    chunked = true;
+                } else if (lower.startsWith("connection:") && lower.contains("close")) {
+                    closedByServer = true;
+                }
+            }
+            if (chunked) {
+                long chunk;
+                while ((chunk = Long.parseLong(readLine().split(";")[0].trim(), 16)) > 0) {
+                    skip(chunk);
+                    readLine();
+                }
+                while (!readLine().isEmpty()) {
+                    // trailers
+                }
+            } else if (contentLength > 0) {
+                skip(contentLength);
+            }
+            return status;
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    throw new EOFException("Connection closed mid-response");
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.US_ASCII);
+        }
+
+        private void skip(long bytes) throws IOException {
+            long remaining = bytes;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new EOFException("Connection closed mid-body");
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.todoapp.reactive.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.todoapp.reactive.model.Todo;
+import com.example.todoapp.reactive.repository.TodoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class TodoControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private TodoRepository repo;
+
+    @BeforeEach
+    void clear() {
+        repo.deleteAll().block();
+    }
+
+    @Test
+    void createsFetchesUpdatesAndDeletes() {
+        Todo created = client.post().uri("/api/todos").bodyValue(Map.of("title", "Learn WebFlux", "completed", false))
+                .exchange().expectStatus().isOk().expectBody(Todo.class).returnResult().getResponseBody();
+
+        client.get().uri("/api/todos/{id}", created.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("success")
+                .jsonPath("$.data.title").isEqualTo("Learn WebFlux");
+
+        client.put().uri("/api/todos/{id}", created.getId()).bodyValue(Map.of("title", "Learn WebFlux", "completed", true))
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(created.getId()).jsonPath("$.completed").isEqualTo(true);
+
+        client.delete().uri("/api/todos/{id}", created.getId()).exchange().expectStatus().isOk();
+        client.get().uri("/api/todos/{id}", created.getId()).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.status").isEqualTo("error");
+    }
+
+    @Test
+    void pagesLikeTheMvcApp() {
+        createTodos(7);
+
+        client.get().uri("/api/todos/page?page=1&size=5").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(7)
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.number").isEqualTo(1);
+    }
+
+    @Test
+    void walksAllTodosWithCursors() {
+        createTodos(25);
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            String uri = "/api/todos/cursor?limit=10" + (cursor != null ? "&after=" + cursor : "");
+            JsonNode slice = client.get().uri(uri).exchange()
+                    .expectStatus().isOk().expectBody(JsonNode.class).returnResult().getResponseBody();
+            slice.get("content").forEach(todo -> titles.add(todo.get("title").asText()));
+            cursor = slice.get("nextCursor").isNull() ? null : slice.get("nextCursor").asText();
+            assertEquals(cursor != null, slice.get("hasNext").asBoolean());
+        } while (cursor != null);
+
+        assertEquals(25, titles.size());
+        assertEquals("Todo 0", titles.get(0));
+        assertEquals("Todo 24", titles.get(24));
+
+        client.get().uri("/api/todos/cursor?after=not-a-cursor!").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void streamsListsAsJsonArrayOrNdjson() {
+        createTodos(3);
+
+        client.get().uri("/api/todos").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(3);
+
+        Flux<Todo> stream = client.get().uri("/api/todos").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Todo.class).getResponseBody();
+        // Take one element at a time; the server only has to produce what was asked for
+        StepVerifier.create(stream, 1)
+                .expectNextMatches(todo -> todo.getTitle().equals("Todo 0"))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchesTitlesIgnoringCase() {
+        client.post().uri("/api/todos").bodyValue(Map.of("title", "Buy MILK")).exchange().expectStatus().isOk();
+        client.post().uri("/api/todos").bodyValue(Map.of("title", "Walk the dog")).exchange().expectStatus().isOk();
+
+        client.get().uri("/api/todos/search?keyword=milk").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Buy MILK");
+    }
+
+    @Test
+    void reportsBatchResultsPerItem() {
+        List<Map<String, Object>> todos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            todos.add(Map.of("title", "Imported " + i));
+        }
+        JsonNode created = client.post().uri("/api/todos/batch").bodyValue(todos).exchange()
+                .expectStatus().isOk().expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertEquals(120, created.size());
+        long firstId = created.get(0).get("id").asLong();
+        assertEquals("CREATED", created.get(119).get("status").asText());
+
+        List<Map<String, Object>> updates = List.of(
+                Map.of("id", firstId, "title", "Renamed", "completed", true),
+                Map.of("id", -1L, "title", "Missing"));
+        JsonNode updated = client.put().uri("/api/todos/batch").bodyValue(updates).exchange()
+                .expectStatus().isOk().expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertEquals("UPDATED", updated.get(0).get("status").asText());
+        assertEquals("NOT_FOUND", updated.get(1).get("status").asText());
+        StepVerifier.create(repo.findById(firstId))
+                .expectNextMatches(todo -> todo.getTitle().equals("Renamed") && todo.isCompleted())
+                .verifyComplete();
+
+        JsonNode deleted = client.method(HttpMethod.DELETE).uri("/api/todos/batch").bodyValue(List.of(firstId, firstId, -1L))
+                .exchange().expectStatus().isOk().expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertEquals("DELETED", deleted.get(0).get("status").asText());
+        assertEquals("NOT_FOUND", deleted.get(1).get("status").asText());
+        assertEquals("NOT_FOUND", deleted.get(2).get("status").asText());
+        assertEquals(119L, repo.count().block());
+
+        List<Integer> tooMany = new ArrayList<>();
+        for (int i = 0; i <= 10_000; i++) {
+            tooMany.add(i);
+        }
+        client.method(HttpMethod.DELETE).uri("/api/todos/batch").bodyValue(tooMany).exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void putOfUnknownIdCreatesANewTodo() {
+        Todo saved = client.put().uri("/api/todos/{id}", 999_999).bodyValue(Map.of("title", "Upserted"))
+                .exchange().expectStatus().isOk().expectBody(Todo.class).returnResult().getResponseBody();
+
+        assertFalse(saved.getId() == 999_999L);
+        assertTrue(repo.existsById(saved.getId()).block());
+        assertNull(repo.findById(999_999L).block());
+    }
+
+    private void createTodos(int count) {
+        for (int i = 0; i < count; i++) {
+            client.post().uri("/api/todos").bodyValue(Map.of("title", "Todo " + i)).exchange().expectStatus().isOk();
+        }
+    }
+}
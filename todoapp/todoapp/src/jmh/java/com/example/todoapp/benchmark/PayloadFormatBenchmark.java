@@ -0,0 +1,96 @@
+package com.example.todoapp.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.todoapp.model.Todo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of writing and reading a {@code GET /api/todos} body in each format the endpoint can
+ * negotiate, with and without the gzip Tomcat applies above {@code server.compression.min-response-size}.
+ * Bytes on the wire don't vary between runs, so they are printed once per trial instead of
+ * being measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({ "20", "1000" })
+    private int size;
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<Todo> todos;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        Random random = new Random(42);
+        todos = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Todo todo = new Todo();
+            todo.setId(id);
+            todo.setTitle("Todo " + Long.toString(random.nextLong() >>> 1, 36) + " for sprint " + random.nextInt(50));
+            todo.setCompleted(random.nextBoolean());
+            todos.add(todo);
+        }
+        body = mapper.writeValueAsBytes(todos);
+        System.out.printf("%n%s, %d todos: %d bytes, %d bytes gzipped%n", format, size, body.length, gzip(body).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        return gzip(mapper.writeValueAsBytes(todos));
+    }
+
+    @Benchmark
+    public List<Todo> deserialize() throws IOException {
+        return mapper.readValue(body, new TypeReference<List<Todo>>() {
+        });
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
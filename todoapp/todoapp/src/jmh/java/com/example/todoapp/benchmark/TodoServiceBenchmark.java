@@ -0,0 +1,134 @@
+package com.example.todoapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.todoapp.TodoappApplication;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoSearchIndex;
+import com.example.todoapp.service.TodoService;
+
+/**
+ * Search and paginated reads of {@link TodoService} against H2. Titles are three words
+ * from a 1,000-word vocabulary, so a one-word search hits about 0.3% of the todos. Thread
+ * count is JMH's {@code -t} option (see {@code run-benchmarks.sh} in the repository root).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class TodoServiceBenchmark {
+
+    private static final int VOCABULARY = 1_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "10000", "1000000" })
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private TodoService service;
+    private TodoRepository repo;
+    private String[] words;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        // devtools would otherwise relaunch the application in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = SpringApplication.run(TodoappApplication.class,
+                "--spring.main.web-application-type=none", "--logging.level.root=warn",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE");
+        service = context.getBean(TodoService.class);
+        repo = context.getBean(TodoRepository.class);
+        TodoSearchIndex searchIndex = context.getBean(TodoSearchIndex.class);
+
+        Random random = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "word" + Integer.toString(i, 36) + (char) ('a' + random.nextInt(26));
+        }
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            String title = words[random.nextInt(VOCABULARY)] + " " + words[random.nextInt(VOCABULARY)] + " " + words[random.nextInt(VOCABULARY)];
+            rows.add(new Object[] { id, title, id % 2 == 0 });
+            if (rows.size() == 10_000 || id == size) {
+                jdbc.batchUpdate("insert into todo (id, title, completed) values (?, ?, ?)", rows);
+                rows.forEach(row -> searchIndex.index(todo((Long) row[0], (String) row[1], (Boolean) row[2])));
+                rows.clear();
+            }
+        }
+        jdbc.execute("alter sequence todo_seq restart with " + (size + 1));
+        // The startup load ran against the empty table; wait until it is done so searches use the index
+        while (!searchIndex.isReady()) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Todo> searchTodos() {
+        return service.searchTodos(randomWord());
+    }
+
+    /** Baseline: the LIKE scan searchTodos used before the index. */
+    @Benchmark
+    public List<Todo> searchTodosInDatabase() {
+        return repo.findByTitleContainingIgnoreCase(randomWord());
+    }
+
+    @Benchmark
+    public Page<Todo> getTodosPaginated() {
+        return service.getTodosPaginated(PageRequest.of(randomPage(), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Slice<Todo> getTodosAfter() {
+        return service.getTodosAfter((long) randomPage() * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    private String randomWord() {
+        return words[ThreadLocalRandom.current().nextInt(VOCABULARY)];
+    }
+
+    private int randomPage() {
+        return ThreadLocalRandom.current().nextInt(size / PAGE_SIZE);
+    }
+
+    private static Todo todo(Long id, String title, boolean completed) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        todo.setCompleted(completed);
+        return todo;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.todoapp.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.todoapp.service.TodoCounters;
+import com.example.todoapp.service.TodoWriteBehind;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Opt-in write-behind for {@code POST}, {@code PUT} and {@code DELETE} of a single todo.
+ * Without it every write commits before the response is sent.
+ */
+@Configuration
+public class WriteBehindConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.write-behind.enabled", havingValue = "true")
+    public TodoWriteBehind todoWriteBehind(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory, TodoCounters counters, MeterRegistry registry,
+            @Value("${todo.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${todo.write-behind.batch-size:500}") int batchSize,
+            @Value("${todo.write-behind.enqueue-timeout:1s}") Duration enqueueTimeout,
+            @Value("${todo.write-behind.drain-timeout:30s}") Duration drainTimeout) {
+        return new TodoWriteBehind(transactionManager, jdbcTemplate, entityManagerFactory, counters, registry,
+                queueCapacity, batchSize, enqueueTimeout, drainTimeout);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.todoapp.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,6 +21,27 @@ ApiResponse<>("error", ex.getMessage(), null);
 HttpStatus.NOT_FOUND); 
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<String>> handleInvalidCursor(InvalidCursorException ex) {
+        ApiResponse<String> response = new ApiResponse<>("error", ex.getMessage(), null);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ApiResponse<String>> handleBatchTooLarge(BatchTooLargeException ex) {
+        ApiResponse<String> response = new ApiResponse<>("error", ex.getMessage(), null);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    // Retry-After: writes were queued faster than the database could take them
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<ApiResponse<String>> handleWriteQueueFull(WriteQueueFullException ex) {
+        ApiResponse<String> response = new ApiResponse<>("error", ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
 @ExceptionHandler(MethodArgumentNotValidException.class) 
     public ResponseEntity<ApiResponse<String>> 
 handleValidationErrors(MethodArgumentNotValidException ex) { 
@@ -0,0 +1,7 @@
+package com.example.todoapp.controller;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.todoapp.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.todoapp.service.TodoWriteBehind;
+import com.example.websupport.etag.VersionedETags;
+
+/**
+ * Version counters behind the ETags of {@link TodoController}. Writers call
+ * {@link #changed} after their transaction has committed.
+ */
+@Component
+public class ResourceVersions extends VersionedETags {
+
+    // A write-behind write can be dropped after its response was sent, changing the todo back
+    @Autowired(required = false)
+    void watchDroppedWrites(TodoWriteBehind writeBehind) {
+        writeBehind.onDropped(this::changed);
+    }
+}
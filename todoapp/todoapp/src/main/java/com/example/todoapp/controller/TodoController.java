@@ -1,11 +1,17 @@
 package com.example.todoapp.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,11 +22,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.todoapp.model.ApiResponse;
+import com.example.todoapp.model.BatchItemResult;
+import com.example.todoapp.model.BatchItemResult.Status;
+import com.example.todoapp.model.CursorSlice;
 import com.example.todoapp.model.Todo;
 import com.example.todoapp.model.TodoDTO;
+import com.example.todoapp.model.TodoStats;
 import com.example.todoapp.service.TodoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,14 +49,64 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @RequestMapping("/api/todos")
 @Tag(name = "Todo Management", description = "APIs for managing todo items")
 public class TodoController {
+	private static final int MAX_CURSOR_LIMIT = 100;
+	private static final int MAX_BATCH_ITEMS = 10_000;
+
 	@Autowired
 	private TodoService service;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// GETs answer 304 from these tags before touching the database; writes move them on
+	@Autowired
+	private ResourceVersions versions;
+
 	@GetMapping
-	@Operation(summary = "Get all todos", description = "Retrieve a list of all todo items")
+	@Operation(summary = "Get all todos", description = "Retrieve a list of all todo items, or with ?completed= only the completed or pending ones in id order")
 	@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved todos")
-	public List<Todo> getTodos() {
-		return service.getAll();
+	public List<Todo> getTodos(
+			@RequestParam(required = false) @Parameter(description = "Only completed (true) or pending (false) todos") Boolean completed,
+			WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
+		return completed == null ? service.getAll() : service.getByCompleted(completed);
+	}
+
+	@GetMapping("/stats")
+	@Operation(summary = "Get todo counts", description = "Total, completed and pending counts, kept in memory so no rows are counted")
+	@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved counts")
+	public TodoStats getStats(WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
+		return service.getStats();
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Stream all todos", description = "Stream every todo item as newline-delimited JSON while it is read from the database")
+	@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Todos streamed successfully")
+	public ResponseEntity<StreamingResponseBody> streamTodos(WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
+		StreamingResponseBody body = out -> {
+			ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+					.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+				generator.setRootValueSeparator(null);
+				service.streamAll(todo -> {
+					try {
+						writer.writeValue(generator, todo);
+						generator.writeRaw('\n');
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
 	}
 
 	@PostMapping
@@ -50,7 +116,42 @@ public class TodoController {
 		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input")
 	})
 	public Todo addTodo(@RequestBody @Parameter(description = "Todo item to be created") Todo todo) {
-		return service.save(todo);
+		Todo saved = service.save(todo);
+		versions.changed(saved.getId());
+		return saved;
+	}
+
+	@PostMapping("/batch")
+	@Operation(summary = "Create todos in bulk", description = "Create up to 10,000 todos in one transaction with batched inserts. Results are returned per item, in request order")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Too many items")
+	})
+	public List<BatchItemResult> addTodos(@RequestBody @Parameter(description = "Todo items to be created") List<Todo> todos) {
+		checkBatchSize(todos.size());
+		return changed(service.createAll(todos));
+	}
+
+	@PutMapping("/batch")
+	@Operation(summary = "Update todos in bulk", description = "Update title and completed of up to 10,000 todos in one transaction. Unknown ids are reported per item")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Too many items")
+	})
+	public List<BatchItemResult> updateTodos(@RequestBody @Parameter(description = "Todo items with their IDs") List<Todo> todos) {
+		checkBatchSize(todos.size());
+		return changed(service.updateAll(todos));
+	}
+
+	@DeleteMapping("/batch")
+	@Operation(summary = "Delete todos in bulk", description = "Delete up to 10,000 todos by ID in one transaction. Unknown ids are reported per item")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Per-item results"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Too many items")
+	})
+	public List<BatchItemResult> deleteTodos(@RequestBody @Parameter(description = "IDs of the todos to delete") List<Long> ids) {
+		checkBatchSize(ids.size());
+		return changed(service.deleteAll(ids));
 	}
 
 	@PutMapping("/{id}")
@@ -63,7 +164,10 @@ public class TodoController {
 			@PathVariable @Parameter(description = "ID of the todo to update") Long id, 
 			@RequestBody @Parameter(description = "Updated todo data") Todo todo) {
 		todo.setId(id);
-		return service.save(todo);
+		Todo saved = service.save(todo);
+		// An unknown id is saved under a new one
+		versions.changed(List.of(id, saved.getId()));
+		return saved;
 	}
 
 	@DeleteMapping("/{id}")
@@ -74,6 +178,7 @@ public class TodoController {
 	})
 	public void deleteTodo(@PathVariable @Parameter(description = "ID of the todo to delete") Long id) {
 		service.delete(id);
+		versions.changed(id);
 	}
 
 	@GetMapping("/page")
@@ -83,16 +188,47 @@ public class TodoController {
 	})
 	public Page<Todo> getTodosWithPagination(
 			@RequestParam(defaultValue = "0") @Parameter(description = "Page number (0-indexed)") int page,
-			@RequestParam(defaultValue = "5") @Parameter(description = "Number of items per page") int size) {
+			@RequestParam(defaultValue = "5") @Parameter(description = "Number of items per page") int size,
+			@RequestParam(required = false) @Parameter(description = "Only completed (true) or pending (false) todos") Boolean completed,
+			WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
 		Pageable pageable = PageRequest.of(page, size);
-		return service.getTodosPaginated(pageable);
+		return completed == null ? service.getTodosPaginated(pageable) : service.getTodosPaginated(completed, pageable);
+	}
+
+	@GetMapping("/cursor")
+	@Operation(summary = "Get todos with keyset pagination", description = "Retrieve todos in id order after an opaque cursor. Unlike /page there is no count query and no offset, so deep pages cost the same as the first one")
+	@ApiResponses(value = {
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of todos"),
+		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Malformed cursor")
+	})
+	public CursorSlice<Todo> getTodosAfterCursor(
+			@RequestParam(required = false) @Parameter(description = "nextCursor from the previous slice; omit for the first slice") String after,
+			@RequestParam(defaultValue = "20") @Parameter(description = "Maximum number of items to return (1-100)") int limit,
+			@RequestParam(required = false) @Parameter(description = "Only completed (true) or pending (false) todos; pass the same value with every cursor") Boolean completed,
+			WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
+		int size = Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+		long afterId = decodeCursor(after);
+		Slice<Todo> slice = completed == null ? service.getTodosAfter(afterId, size) : service.getTodosAfter(completed, afterId, size);
+		List<Todo> content = slice.getContent();
+		String next = slice.hasNext() ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+		return new CursorSlice<>(content, slice.hasNext(), next);
 	}
 
 	@GetMapping("/search")
 	@Operation(summary = "Search todos", description = "Search for todos by keyword")
 	@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
 	public List<Todo> searchTodos(
-			@RequestParam @Parameter(description = "Keyword to search for in todo titles") String keyword) {
+			@RequestParam @Parameter(description = "Keyword to search for in todo titles") String keyword,
+			WebRequest request) {
+		if (request.checkNotModified(versions.collectionETag(request))) {
+			return null;
+		}
 		return service.searchTodos(keyword);
 	}
 
@@ -104,11 +240,44 @@ public class TodoController {
 		@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Todo not found")
 	})
 	public ResponseEntity<ApiResponse<TodoDTO>> getTodo(
-			@PathVariable @Parameter(description = "ID of the todo to retrieve") Long id) {
-		Todo todo = service.getTodoById(id);
+			@PathVariable @Parameter(description = "ID of the todo to retrieve") Long id,
+			WebRequest request) {
+		if (request.checkNotModified(versions.itemETag(id, request))) {
+			return null;
+		}
+		Todo todo = service.getById(id);
 		TodoDTO dto = service.toDto(todo);
 
 		ApiResponse<TodoDTO> response = new ApiResponse<>("success", "Todo fetched", dto);
 		return ResponseEntity.ok(response);
 	}
-}
\ No newline at end of file
+
+	private List<BatchItemResult> changed(List<BatchItemResult> results) {
+		versions.changed(results.stream()
+				.filter(result -> result.getStatus() != Status.INVALID && result.getStatus() != Status.NOT_FOUND)
+				.map(BatchItemResult::getId)
+				.toList());
+		return results;
+	}
+
+	private static void checkBatchSize(int size) {
+		if (size > MAX_BATCH_ITEMS) {
+			throw new BatchTooLargeException(size, MAX_BATCH_ITEMS);
+		}
+	}
+
+	private static String encodeCursor(long lastId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long decodeCursor(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return 0;
+		}
+		try {
+			return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(cursor);
+		}
+	}
+}
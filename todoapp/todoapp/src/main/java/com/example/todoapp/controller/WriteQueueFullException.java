@@ -0,0 +1,7 @@
+package com.example.todoapp.controller;
+
+public class WriteQueueFullException extends RuntimeException {
+    public WriteQueueFullException(int capacity) {
+        super("Write queue is full (" + capacity + " todos waiting to be saved), try again shortly");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.todoapp.model;
+
+/**
+ * Todo counts, served from in-memory counters without touching the database.
+ */
+public class TodoStats {
+    private long total;
+    private long completed;
+    private long pending;
+
+    public TodoStats(long total, long completed) {
+        this.total = total;
+        this.completed = completed;
+        this.pending = total - completed;
+    }
+
+    // Getters & Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public void setPending(long pending) {
+        this.pending = pending;
+    }
+}
@@ -1,12 +1,66 @@
 package com.example.todoapp.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.example.todoapp.model.*;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 public interface TodoRepository extends
         JpaRepository<Todo, Long> {
+    // List queries load each todo's user in the same select (a left join), so the number
+    // of statements per request doesn't grow with the number of users
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Todo> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Todo> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
     List<Todo> findByTitleContainingIgnoreCase(String keyword);
-}
\ No newline at end of file
+
+    // Seeks straight to the cursor through the primary key index, so every slice costs
+    // the same however deep it is. A Slice reads one extra row instead of running a count.
+    @EntityGraph(attributePaths = "user")
+    Slice<Todo> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // ?completed= lists: a range scan of idx_todo_completed_id, already in id order
+    @EntityGraph(attributePaths = "user")
+    List<Todo> findByCompletedOrderByIdAsc(boolean completed);
+
+    @EntityGraph(attributePaths = "user")
+    Page<Todo> findByCompletedOrderByIdAsc(boolean completed, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<Todo> findByCompletedAndIdGreaterThanOrderByIdAsc(boolean completed, Long id, Pageable pageable);
+
+    long countByCompleted(boolean completed);
+
+    // Locks the rows until the transaction ends, so two writers racing on one todo can't
+    // both count the same change of its completed flag
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Todo t where t.id in :ids")
+    List<Todo> findAllByIdForUpdate(Collection<Long> ids);
+
+    // Fetched in chunks from the JDBC cursor while the caller consumes the stream; the
+    // join loads the user up front, because rows are detached before anyone could read it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    @Query("select t from Todo t left join fetch t.user")
+    Stream<Todo> streamAll();
+}
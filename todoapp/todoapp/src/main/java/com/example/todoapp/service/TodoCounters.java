@@ -0,0 +1,77 @@
+package com.example.todoapp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.todoapp.model.TodoStats;
+import com.example.todoapp.repository.TodoRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Total and completed todo counts, kept in memory so {@code /api/todos/stats} never counts
+ * rows. They are read from the database once at startup and then moved by every write that
+ * goes through {@link TodoService} or {@link TodoWriteBehind}; rows changed behind their
+ * back (the H2 console, another process) are only picked up on restart.
+ *
+ * <p>Writers lock the rows they change and record each change through {@link #onCommit()},
+ * so a change is counted once, and only if its transaction commits.
+ */
+@Component
+public class TodoCounters {
+    @Autowired
+    private TodoRepository repo;
+
+    private long total;
+    private long completed;
+
+    @PostConstruct
+    void load() {
+        long all = repo.count();
+        long done = repo.countByCompleted(true);
+        synchronized (this) {
+            total = all;
+            completed = done;
+        }
+    }
+
+    public synchronized TodoStats snapshot() {
+        return new TodoStats(total, completed);
+    }
+
+    /**
+     * Collects changes made in the current transaction and adds them to the counts once it
+     * has committed. Must be called inside a transaction.
+     */
+    public Change onCommit() {
+        Change change = new Change();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(change.total, change.completed);
+            }
+        });
+        return change;
+    }
+
+    private synchronized void add(long totalDelta, long completedDelta) {
+        total += totalDelta;
+        completed += completedDelta;
+    }
+
+    public static final class Change {
+        private long total;
+        private long completed;
+
+        /**
+         * Records one todo going from {@code before} to {@code after}, the value of its
+         * completed flag; {@code null} means the todo doesn't exist on that side.
+         */
+        public void record(Boolean before, Boolean after) {
+            total += (after != null ? 1 : 0) - (before != null ? 1 : 0);
+            completed += (Boolean.TRUE.equals(after) ? 1 : 0) - (Boolean.TRUE.equals(before) ? 1 : 0);
+        }
+    }
+}
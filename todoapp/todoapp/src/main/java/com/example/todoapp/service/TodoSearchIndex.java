@@ -0,0 +1,291 @@
+package com.example.todoapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.example.todoapp.model.Todo;
+
+/**
+ * In-memory inverted index over todo titles. Titles are split into lower-cased words;
+ * every query word matches indexed words it is a prefix of, and a todo has to match all
+ * query words. Hits are ranked by how rare the matched words are, with exact word matches
+ * weighing more than prefix matches.
+ *
+ * <p>The index answers searches only once {@link #markReady()} has been called after the
+ * initial load; until then {@link #search(String)} returns empty and callers fall back to
+ * the database.
+ */
+@Component
+public class TodoSearchIndex {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    // Sorted so that all words starting with a prefix form one contiguous range
+    private final NavigableMap<String, Posting> postings = new TreeMap<>();
+    private final Map<Long, IndexedTodo> todos = new HashMap<>();
+    // Ids deleted while the initial load is running, so the loader doesn't resurrect them
+    private final Set<Long> deletedWhileLoading = new HashSet<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    /** Adds {@code todo} or replaces its previous version. */
+    public void index(Todo todo) {
+        lock.writeLock().lock();
+        try {
+            unindex(todo.getId());
+            add(todo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            if (!ready) {
+                deletedWhileLoading.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a todo read by the initial load. Versions already indexed by {@link #index(Todo)}
+     * are newer than what the loader read, so they win, and deleted todos stay deleted.
+     */
+    void load(Todo todo) {
+        lock.writeLock().lock();
+        try {
+            if (!todos.containsKey(todo.getId()) && !deletedWhileLoading.contains(todo.getId())) {
+                add(todo);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void markReady() {
+        lock.writeLock().lock();
+        try {
+            deletedWhileLoading.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return todos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns matching todos, best match first, or empty when the index can't answer: it is
+     * still loading, or the keyword contains no searchable word.
+     */
+    public Optional<List<Todo>> search(String keyword) {
+        Set<String> terms = tokenize(keyword);
+        if (!ready || terms.isEmpty()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            // Start with the most selective word so later words only have few candidates to check
+            List<String> ordered = new ArrayList<>(terms);
+            ordered.sort(Comparator.comparingLong(this::matchCount));
+            Map<Long, Double> scores = null;
+            for (String term : ordered) {
+                Map<Long, Double> termScores = score(term, scores);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query word has to match, so only ids matched by the previous words survive
+                    Map<Long, Double> previous = scores;
+                    termScores.replaceAll((id, score) -> score + previous.get(id));
+                    scores = termScores;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            List<Todo> results = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> hit : ranked) {
+                results.add(todos.get(hit.getKey()).toTodo());
+            }
+            return Optional.of(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the todos containing a word that starts with {@code term}. When {@code candidates}
+     * is given, only those ids are considered. Must run under the read lock.
+     */
+    private Map<Long, Double> score(String term, Map<Long, Double> candidates) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Posting posting : prefixRange(term).values()) {
+            double weight = Math.log(1 + (double) todos.size() / posting.size)
+                    * (posting.term.equals(term) ? 1 : PREFIX_MATCH_WEIGHT);
+            if (candidates == null || posting.size <= candidates.size()) {
+                for (int i = 0; i < posting.size; i++) {
+                    long id = posting.ids[i];
+                    if (candidates == null || candidates.containsKey(id)) {
+                        scores.merge(id, weight, Math::max);
+                    }
+                }
+            } else {
+                for (Long id : candidates.keySet()) {
+                    if (posting.contains(id)) {
+                        scores.merge(id, weight, Math::max);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    /** Upper bound of the todos matched by {@code term}. Must run under the read lock. */
+    private long matchCount(String term) {
+        long count = 0;
+        for (Posting posting : prefixRange(term).values()) {
+            count += posting.size;
+        }
+        return count;
+    }
+
+    private NavigableMap<String, Posting> prefixRange(String term) {
+        return postings.subMap(term, true, term + Character.MAX_VALUE, false);
+    }
+
+    private void add(Todo todo) {
+        Set<String> terms = tokenize(todo.getTitle());
+        Posting[] termPostings = new Posting[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            Posting posting = postings.computeIfAbsent(term, Posting::new);
+            posting.add(todo.getId());
+            termPostings[i++] = posting;
+        }
+        todos.put(todo.getId(), new IndexedTodo(todo.getId(), todo.getTitle(), todo.isCompleted(), termPostings));
+    }
+
+    private void unindex(Long id) {
+        IndexedTodo previous = todos.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (Posting posting : previous.postings()) {
+            posting.remove(id);
+            if (posting.size == 0) {
+                postings.remove(posting.term);
+            }
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /** Whether every one of {@code terms} starts a word of {@code title}, as {@link #search} matches. */
+    static boolean matchesAll(Set<String> terms, String title) {
+        Set<String> words = tokenize(title);
+        return terms.stream().allMatch(term -> words.stream().anyMatch(word -> word.startsWith(term)));
+    }
+
+    /**
+     * Sorted ids of the todos containing one word. Primitive arrays keep millions of
+     * postings from turning into millions of boxed objects.
+     */
+    private static final class Posting {
+        private final String term;
+        private long[] ids = new long[2];
+        private int size;
+
+        Posting(String term) {
+            this.term = term;
+        }
+
+        void add(long id) {
+            // New todos get increasing ids, so this is nearly always an append
+            if (size > 0 && ids[size - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void insert(int at, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+
+    private record IndexedTodo(Long id, String title, boolean completed, Posting[] postings) {
+        Todo toTodo() {
+            Todo todo = new Todo();
+            todo.setId(id);
+            todo.setTitle(title);
+            todo.setCompleted(completed);
+            return todo;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.todoapp.service;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Fills the {@link TodoSearchIndex} from the database in the background once the
+ * application is up, so startup doesn't wait for it. Searches use the database until
+ * the load is complete.
+ */
+@Component
+public class TodoSearchIndexLoader {
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndexLoader.class);
+
+    @Autowired
+    private TodoRepository repo;
+
+    @Autowired
+    private TodoSearchIndex searchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        Thread loader = new Thread(this::load, "todo-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void load() {
+        long start = System.nanoTime();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Todo> todos = repo.streamAll()) {
+                    todos.forEach(todo -> {
+                        searchIndex.load(todo);
+                        entityManager.detach(todo);
+                    });
+                }
+            });
+            searchIndex.markReady();
+            log.info("Indexed {} todos for search in {} ms", searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Searches keep using the database
+            log.error("Failed to build the todo search index", e);
+        }
+    }
+}
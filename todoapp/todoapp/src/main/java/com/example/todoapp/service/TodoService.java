@@ -1,28 +1,136 @@
 package com.example.todoapp.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.todoapp.controller.TodoNotFoundException;
+import com.example.todoapp.model.BatchItemResult;
+import com.example.todoapp.model.BatchItemResult.Status;
 import com.example.todoapp.model.Todo;
 import com.example.todoapp.model.TodoDTO;
+import com.example.todoapp.model.TodoStats;
 import com.example.todoapp.repository.TodoRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
 @Service
+@Timed("service.method")
 public class TodoService {
     @Autowired
     private TodoRepository repo;
 
+    @Autowired
+    private TodoSearchIndex searchIndex;
+
+    @Autowired
+    private TodoCounters counters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Only there with todo.write-behind.enabled=true; single-todo writes then go through its
+    // queue and reads wait for it (see awaitPendingWrites)
+    @Autowired(required = false)
+    private TodoWriteBehind writeBehind;
+
+    // Flush and clear the persistence context after this many rows, one JDBC batch at a time
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    // The search index is updated after the commit, when the row lock is already released.
+    // Writers of a todo hold its stripe from before the commit until the index is updated,
+    // so the index sees writes to it in commit order
+    private final ReentrantLock[] indexStripes = new ReentrantLock[64];
+    {
+        for (int i = 0; i < indexStripes.length; i++) {
+            indexStripes[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    void watchDroppedWrites() {
+        if (writeBehind != null) {
+            writeBehind.onDropped(this::reindex);
+        }
+    }
+
     public List<Todo> getAll() {
+        awaitPendingWrites();
         return repo.findAll();
     }
 
+    /** Todos whose completed flag is {@code completed}, in id order. */
+    public List<Todo> getByCompleted(boolean completed) {
+        awaitPendingWrites();
+        return repo.findByCompletedOrderByIdAsc(completed);
+    }
+
+    public TodoStats getStats() {
+        awaitPendingWrites();
+        return counters.snapshot();
+    }
+
+    /**
+     * Hands every todo to {@code consumer} as it is read from the database, detaching
+     * each one afterwards so memory stays flat however many rows there are.
+     */
+    public void streamAll(Consumer<Todo> consumer) {
+        // Before the transaction takes a connection: the writer needs one to flush
+        awaitPendingWrites();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Todo> todos = repo.streamAll()) {
+                todos.forEach(todo -> {
+                    consumer.accept(todo);
+                    entityManager.detach(todo);
+                });
+            }
+        });
+    }
+
     public Todo save(Todo todo) {
-        return repo.save(todo);
+        return inCommitOrder(Collections.singletonList(todo.getId()), () -> {
+            Todo saved = writeBehind != null ? writeBehind.save(todo)
+                    : new TransactionTemplate(transactionManager).execute(status -> {
+                        // merge() copies onto this managed instance, so take its flag first
+                        Todo stored = todo.getId() == null ? null
+                                : entityManager.find(Todo.class, todo.getId(), LockModeType.PESSIMISTIC_WRITE);
+                        Boolean before = stored == null ? null : stored.isCompleted();
+                        Todo merged = repo.save(todo);
+                        counters.onCommit().record(before, merged.isCompleted());
+                        return merged;
+                    });
+            searchIndex.index(saved);
+            return saved;
+        });
     }
 
     /*
@@ -31,16 +139,190 @@ public class TodoService {
      * }
      */
 
+    /**
+     * Inserts {@code todos} in one transaction, in request order. Ids come from the pooled
+     * sequence, so the inserts go out as JDBC batches. Client-supplied ids are ignored.
+     */
+    public List<BatchItemResult> createAll(List<Todo> todos) {
+        awaitPendingWrites();
+        List<BatchItemResult> results = new ArrayList<>(todos.size());
+        List<Todo> created = new ArrayList<>(todos.size());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TodoCounters.Change change = counters.onCommit();
+            for (int i = 0; i < todos.size(); i++) {
+                Todo todo = todos.get(i);
+                if (todo == null) {
+                    results.add(new BatchItemResult(i, null, Status.INVALID, "Todo is required"));
+                    continue;
+                }
+                todo.setId(null);
+                entityManager.persist(todo);
+                change.record(null, todo.isCompleted());
+                created.add(todo);
+                results.add(new BatchItemResult(i, todo.getId(), Status.CREATED, null));
+                if (created.size() % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        created.forEach(searchIndex::index);
+        return results;
+    }
+
+    /**
+     * Updates title and completed of every todo whose id exists, in one transaction. Rows
+     * are loaded and locked with one query per JDBC batch and written back as batched updates.
+     */
+    public List<BatchItemResult> updateAll(List<Todo> todos) {
+        awaitPendingWrites();
+        List<Long> ids = todos.stream().filter(Objects::nonNull).map(Todo::getId).toList();
+        return inCommitOrder(ids, () -> {
+            List<BatchItemResult> results = new ArrayList<>(todos.size());
+            List<Todo> updated = new ArrayList<>(todos.size());
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                TodoCounters.Change change = counters.onCommit();
+                for (int from = 0; from < todos.size(); from += batchSize) {
+                    List<Todo> chunk = todos.subList(from, Math.min(from + batchSize, todos.size()));
+                    Map<Long, Todo> existing = new HashMap<>();
+                    repo.findAllByIdForUpdate(chunk.stream().filter(Objects::nonNull).map(Todo::getId).filter(Objects::nonNull).toList())
+                            .forEach(todo -> existing.put(todo.getId(), todo));
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Todo changes = chunk.get(i);
+                        if (changes == null || changes.getId() == null) {
+                            results.add(new BatchItemResult(from + i, null, Status.INVALID, "Todo id is required"));
+                            continue;
+                        }
+                        Todo todo = existing.get(changes.getId());
+                        if (todo == null) {
+                            results.add(new BatchItemResult(from + i, changes.getId(), Status.NOT_FOUND, "Todo not found with ID " + changes.getId()));
+                            continue;
+                        }
+                        change.record(todo.isCompleted(), changes.isCompleted());
+                        todo.setTitle(changes.getTitle());
+                        todo.setCompleted(changes.isCompleted());
+                        updated.add(todo);
+                        results.add(new BatchItemResult(from + i, todo.getId(), Status.UPDATED, null));
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            });
+            updated.forEach(searchIndex::index);
+            return results;
+        });
+    }
+
+    /**
+     * Deletes every existing todo in {@code ids} in one transaction, with one query that
+     * loads and locks the existing rows and one bulk delete per JDBC batch.
+     */
+    public List<BatchItemResult> deleteAll(List<Long> ids) {
+        awaitPendingWrites();
+        return inCommitOrder(ids, () -> {
+            List<BatchItemResult> results = new ArrayList<>(ids.size());
+            List<Long> deleted = new ArrayList<>(ids.size());
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                TodoCounters.Change change = counters.onCommit();
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                    // id -> completed of the rows that exist
+                    Map<Long, Boolean> existing = new HashMap<>();
+                    repo.findAllByIdForUpdate(chunk.stream().filter(Objects::nonNull).toList())
+                            .forEach(todo -> existing.put(todo.getId(), todo.isCompleted()));
+                    if (!existing.isEmpty()) {
+                        repo.deleteAllByIdInBatch(existing.keySet());
+                        entityManager.clear();
+                    }
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Long id = chunk.get(i);
+                        if (id == null) {
+                            results.add(new BatchItemResult(from + i, null, Status.INVALID, "Todo id is required"));
+                        } else if (existing.containsKey(id)) {
+                            change.record(existing.remove(id), null);
+                            deleted.add(id);
+                            results.add(new BatchItemResult(from + i, id, Status.DELETED, null));
+                        } else {
+                            results.add(new BatchItemResult(from + i, id, Status.NOT_FOUND, "Todo not found with ID " + id));
+                        }
+                    }
+                }
+            });
+            deleted.forEach(searchIndex::remove);
+            return results;
+        });
+    }
+
     public Page<Todo> getTodosPaginated(Pageable pageable) {
+        awaitPendingWrites();
         return repo.findAll(pageable);
     }
 
+    public Page<Todo> getTodosPaginated(boolean completed, Pageable pageable) {
+        awaitPendingWrites();
+        return repo.findByCompletedOrderByIdAsc(completed, pageable);
+    }
+
+    /**
+     * Returns up to {@code limit} todos with an id greater than {@code afterId}, in id order.
+     */
+    public Slice<Todo> getTodosAfter(long afterId, int limit) {
+        awaitPendingWrites();
+        return repo.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Like {@link #getTodosAfter(long, int)}, but only todos whose completed flag is
+     * {@code completed}.
+     */
+    public Slice<Todo> getTodosAfter(boolean completed, long afterId, int limit) {
+        awaitPendingWrites();
+        return repo.findByCompletedAndIdGreaterThanOrderByIdAsc(completed, afterId, PageRequest.of(0, limit));
+    }
+
     public void delete(Long id) {
-        repo.deleteById(id);
+        inCommitOrder(Collections.singletonList(id), () -> {
+            if (writeBehind != null) {
+                writeBehind.delete(id);
+            } else {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    Todo stored = entityManager.find(Todo.class, id, LockModeType.PESSIMISTIC_WRITE);
+                    if (stored != null) {
+                        entityManager.remove(stored);
+                        counters.onCommit().record(stored.isCompleted(), null);
+                    }
+                });
+            }
+            searchIndex.remove(id);
+            return null;
+        });
     }
 
+    /**
+     * Matches todos whose title has words starting with every word of {@code keyword}, best
+     * match first. While the search index is still loading, the database answers with the
+     * same matches in id order.
+     */
     public List<Todo> searchTodos(String keyword) {
-        return repo.findByTitleContainingIgnoreCase(keyword);
+        // The index is updated when a write is queued, so only the fallback has to wait
+        return searchIndex.search(keyword)
+                .orElseGet(() -> {
+                    awaitPendingWrites();
+                    return searchDatabase(keyword);
+                });
+    }
+
+    // The longest word narrows the rows in SQL; titles are then split into words the way
+    // the index splits them, so a word only matches at the start of a title word
+    private List<Todo> searchDatabase(String keyword) {
+        Set<String> terms = TodoSearchIndex.tokenize(keyword);
+        if (terms.isEmpty()) {
+            return repo.findByTitleContainingIgnoreCase(keyword);
+        }
+        String longest = Collections.max(terms, Comparator.comparingInt(String::length));
+        return repo.findByTitleContainingIgnoreCase(longest).stream()
+                .filter(todo -> TodoSearchIndex.matchesAll(terms, todo.getTitle()))
+                .toList();
     }
 
     public TodoDTO toDto(Todo todo) {
@@ -51,14 +333,58 @@ public class TodoService {
         return dto;
     }
 
-    public Todo getTodoById(Long id) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getTodoById'");
-    }
-
     public Todo getById(Long id) {
+        TodoWriteBehind.Mutation pending = writeBehind != null ? writeBehind.pending(id) : null;
+        if (pending != null) {
+            if (pending.kind() == TodoWriteBehind.Kind.DELETE) {
+                throw new TodoNotFoundException("Todo not found with ID " + id);
+            }
+            return pending.todo();
+        }
         return repo.findById(id)
                 .orElseThrow(() -> new TodoNotFoundException("Todo not found with ID " +
                         id));
     }
-}
\ No newline at end of file
+
+    // A dropped write was indexed when it was queued: index what the database holds instead,
+    // unless a later write to the todo is queued and already indexed
+    private void reindex(Long id) {
+        inCommitOrder(Collections.singletonList(id), () -> {
+            if (writeBehind.pending(id) == null) {
+                repo.findById(id).ifPresentOrElse(searchIndex::index, () -> searchIndex.remove(id));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code write} holding the index stripes of {@code ids}, taken in stripe order so
+     * that batches sharing stripes can't deadlock. Null ids (todos still to be created) need
+     * no stripe: nobody else can write a todo before it has an id.
+     */
+    private <T> T inCommitOrder(List<Long> ids, Supplier<T> write) {
+        int[] stripes = ids.stream().filter(Objects::nonNull)
+                .mapToInt(id -> Long.hashCode(id) & (indexStripes.length - 1))
+                .distinct().sorted().toArray();
+        for (int stripe : stripes) {
+            indexStripes[stripe].lock();
+        }
+        try {
+            return write.get();
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                indexStripes[stripes[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Makes a read that goes to the database wait until the writes queued before it have
+     * committed, so with write-behind on a client still reads its own writes.
+     */
+    private void awaitPendingWrites() {
+        if (writeBehind != null) {
+            writeBehind.awaitFlushed();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,567 @@
+package com.example.todoapp.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todoapp.controller.WriteQueueFullException;
+import com.example.todoapp.model.Todo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Write-behind for single-todo writes, switched on with {@code todo.write-behind.enabled}.
+ * A write is acknowledged once it is queued; one background thread commits the queue in
+ * batches of up to {@code batch-size} todos per transaction. Writes that arrive while a batch
+ * commits form the next one, so batches grow with the load without any fixed delay.
+ *
+ * <p>The queue holds the latest write per id: a second write to a todo that is still queued
+ * replaces the first, and a todo created and deleted before it was flushed is never written.
+ * It holds at most {@code queue-capacity} ids; a write that finds it full waits up to
+ * {@code enqueue-timeout} for room and then fails with {@link WriteQueueFullException}.
+ *
+ * <p>{@link #pending(Long)} answers reads of a single todo from the queue, and
+ * {@link #awaitFlushed()} makes any other read wait until every write queued before it has
+ * committed, so a client always reads its own writes. On shutdown the queue is drained
+ * after the web server has stopped; writes after that are committed synchronously.
+ *
+ * <p>A write is dropped when it fails to commit, or when it updates a todo that was deleted
+ * after the update was queued. The client has been told it succeeded by then, so
+ * {@link #onDropped(Consumer)} listeners are called with its id to undo what they did for it.
+ */
+public class TodoWriteBehind implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TodoWriteBehind.class);
+
+    // Rows are written with plain JDBC batches: ids are handed out when a create is queued,
+    // and persist() refuses an entity that already has one
+    private static final String INSERT = "insert into todo (id, title, completed) values (?, ?, ?)";
+    private static final String UPDATE = "update todo set title = ?, completed = ? where id = ?";
+    private static final String DELETE = "delete from todo where id = ?";
+
+    private final TransactionTemplate transaction;
+    private final JdbcTemplate jdbc;
+    private final SessionFactoryImplementor sessionFactory;
+    private final TodoCounters counters;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Duration enqueueTimeout;
+    private final Duration drainTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    // In write order. A write that replaces a queued one takes over its place, so the first
+    // entry always holds the oldest sequence number still queued
+    private final LinkedHashMap<Long, Mutation> queued = new LinkedHashMap<>();
+    private final Map<Long, Mutation> inFlight = new HashMap<>();
+    private final List<Consumer<Long>> dropListeners = new CopyOnWriteArrayList<>();
+    private long inFlightFirstSequence;
+    private long lastSequence;
+    // Batches the writer has finished, to tell whether a row looked up earlier may have changed
+    private long committedBatches;
+    private boolean running;
+    private boolean drained;
+    private Thread writer;
+
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter dropped;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+
+    public TodoWriteBehind(PlatformTransactionManager transactionManager, JdbcTemplate jdbc,
+            EntityManagerFactory entityManagerFactory, TodoCounters counters, MeterRegistry registry,
+            int queueCapacity, int batchSize, Duration enqueueTimeout, Duration drainTimeout) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.jdbc = jdbc;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.counters = counters;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.enqueueTimeout = enqueueTimeout;
+        this.drainTimeout = drainTimeout;
+
+        Gauge.builder("todo.write_behind.queued", this, TodoWriteBehind::queuedCount)
+                .description("Todos with a write waiting to be flushed")
+                .register(registry);
+        this.coalesced = Counter.builder("todo.write_behind.coalesced")
+                .description("Writes that replaced a queued write to the same todo")
+                .register(registry);
+        this.rejected = Counter.builder("todo.write_behind.rejected")
+                .description("Writes refused because the queue stayed full")
+                .register(registry);
+        this.dropped = Counter.builder("todo.write_behind.dropped")
+                .description("Writes that failed to commit or found their todo deleted, and were discarded")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("todo.write_behind.batch.size")
+                .description("Todos written per transaction")
+                .register(registry);
+        this.flushTimer = Timer.builder("todo.write_behind.flush")
+                .description("Time to commit one batch")
+                .register(registry);
+    }
+
+    /**
+     * Queues {@code todo} for saving and returns what was queued. A todo without an id, or
+     * with an id that doesn't exist, is created under a new id, as {@code repo.save} would.
+     */
+    public Todo save(Todo todo) {
+        Long id = todo.getId();
+        if (id == null) {
+            Long newId = nextId(todo);
+            return enqueue(() -> new Mutation(Kind.INSERT, newId, copyOf(todo, newId))).todo();
+        }
+        Long newId = null;
+        while (true) {
+            // The database is asked outside the lock. Under it the answer is checked against
+            // what was queued or committed since: a delete coalescing away a queued insert in
+            // between would otherwise leave an update of a row that is never written
+            long committed = committedBatches();
+            boolean stored = exists(id);
+            Long insertId = stored || newId != null ? newId : nextId(todo);
+            Mutation mutation = enqueue(() -> {
+                Mutation pending = pendingLocked(id);
+                if (pending == null && committedBatches != committed) {
+                    return null;
+                }
+                if (pending == null ? stored : pending.kind() != Kind.DELETE) {
+                    return new Mutation(Kind.UPDATE, id, copyOf(todo, id));
+                }
+                return insertId == null ? null : new Mutation(Kind.INSERT, insertId, copyOf(todo, insertId));
+            });
+            if (mutation != null) {
+                return mutation.todo();
+            }
+            newId = insertId;
+        }
+    }
+
+    /** Queues the deletion of {@code id}; deleting an id that doesn't exist does nothing. */
+    public void delete(Long id) {
+        enqueue(() -> new Mutation(Kind.DELETE, id, null));
+    }
+
+    /**
+     * Calls {@code listener} with the id of every dropped write, from the writer thread, once
+     * the write is no longer {@link #pending(Long)}.
+     */
+    public void onDropped(Consumer<Long> listener) {
+        dropListeners.add(listener);
+    }
+
+    /**
+     * The queued write to {@code id} that hasn't committed yet, or {@code null} if there is
+     * none and the database is up to date for it.
+     */
+    public Mutation pending(Long id) {
+        lock.lock();
+        try {
+            return pendingLocked(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Waits until every write queued before this call has committed. */
+    public void awaitFlushed() {
+        lock.lock();
+        try {
+            long target = lastSequence;
+            while (oldestPendingSequence() <= target) {
+                notEmpty.signal();
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Builds the write under the lock, again after every wait for room, so write must
+    // not do any I/O. It returns null when it has to be resolved again, and so does this
+    private Mutation enqueue(Supplier<Mutation> write) {
+        Mutation mutation;
+        lock.lock();
+        try {
+            if (!drained) {
+                mutation = awaitRoomFor(write);
+                if (mutation == null) {
+                    return null;
+                }
+                Mutation previous = queued.get(mutation.id());
+                if (previous == null) {
+                    mutation.sequence = ++lastSequence;
+                    queued.put(mutation.id(), mutation);
+                    notEmpty.signal();
+                    return mutation;
+                }
+                coalesced.increment();
+                Mutation next = previous.then(mutation);
+                if (next == null) {
+                    // Created and deleted before it was flushed: nothing left to write
+                    queued.remove(mutation.id());
+                    notFull.signal();
+                    flushed.signalAll();
+                } else {
+                    // Keeps the place and sequence number of the write it replaces, so
+                    // readers waiting for that write wait for this one instead
+                    next.sequence = previous.sequence;
+                    queued.put(mutation.id(), next);
+                }
+                return mutation;
+            }
+            mutation = write.get();
+        } finally {
+            lock.unlock();
+        }
+        // The writer has stopped and drained the queue
+        if (mutation != null) {
+            notifyDropped(write(List.of(mutation)));
+        }
+        return mutation;
+    }
+
+    private Mutation awaitRoomFor(Supplier<Mutation> write) {
+        long nanos = enqueueTimeout.toNanos();
+        try {
+            while (true) {
+                Mutation mutation = write.get();
+                if (mutation == null || queued.containsKey(mutation.id()) || queued.size() < queueCapacity) {
+                    return mutation;
+                }
+                if (nanos <= 0) {
+                    rejected.increment();
+                    throw new WriteQueueFullException(queueCapacity);
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new WriteQueueFullException(queueCapacity);
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            List<Mutation> batch = new ArrayList<>(Math.min(batchSize, queueCapacity));
+            lock.lock();
+            try {
+                while (queued.isEmpty()) {
+                    if (!running) {
+                        drained = true;
+                        return;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                }
+                Iterator<Mutation> it = queued.values().iterator();
+                while (it.hasNext() && batch.size() < batchSize) {
+                    Mutation mutation = it.next();
+                    it.remove();
+                    batch.add(mutation);
+                    inFlight.put(mutation.id(), mutation);
+                }
+                inFlightFirstSequence = batch.get(0).sequence;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            List<Mutation> lost = write(batch);
+
+            lock.lock();
+            try {
+                inFlight.clear();
+                committedBatches++;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            notifyDropped(lost);
+        }
+    }
+
+    /**
+     * Commits {@code batch} in one transaction. If that fails, each write is retried in a
+     * transaction of its own so one bad row can't hold back the rest; writes that still
+     * fail are logged and dropped. Returns the dropped writes.
+     */
+    private List<Mutation> write(List<Mutation> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<Mutation> lost = flushTimer.record(() -> transaction.execute(status -> apply(batch)));
+            lost.forEach(mutation -> {
+                dropped.increment();
+                log.warn("Dropped queued UPDATE of todo {}, it was deleted since", mutation.id());
+            });
+            return lost;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                dropped.increment();
+                log.error("Dropped queued {} of todo {}", batch.get(0).kind(), batch.get(0).id(), e);
+                return batch;
+            }
+            log.warn("Failed to write a batch of {} todos, retrying them one by one", batch.size(), e);
+            List<Mutation> lost = new ArrayList<>();
+            batch.forEach(mutation -> lost.addAll(write(List.of(mutation))));
+            return lost;
+        }
+    }
+
+    // Returns the updates that matched no row
+    private List<Mutation> apply(List<Mutation> batch) {
+        Map<Long, Boolean> stored = lockStoredRows(batch);
+        TodoCounters.Change change = counters.onCommit();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Mutation> updated = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Mutation mutation : batch) {
+            Todo todo = mutation.todo;
+            Boolean before = stored.get(mutation.id());
+            switch (mutation.kind()) {
+                case INSERT -> {
+                    inserts.add(new Object[] { todo.getId(), todo.getTitle(), todo.isCompleted() });
+                    change.record(null, todo.isCompleted());
+                }
+                case UPDATE -> {
+                    updated.add(mutation);
+                    updates.add(new Object[] { todo.getTitle(), todo.isCompleted(), todo.getId() });
+                    // A row deleted through /batch since this was queued stays deleted
+                    if (before != null) {
+                        change.record(before, todo.isCompleted());
+                    }
+                }
+                case DELETE -> {
+                    deletes.add(new Object[] { mutation.id() });
+                    change.record(before, null);
+                }
+            }
+        }
+        // Each id appears once per batch, so the order of the three statements doesn't matter
+        if (!inserts.isEmpty()) {
+            jdbc.batchUpdate(INSERT, inserts);
+        }
+        List<Mutation> lost = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            int[] counts = jdbc.batchUpdate(UPDATE, updates);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    lost.add(updated.get(i));
+                }
+            }
+        }
+        if (!deletes.isEmpty()) {
+            jdbc.batchUpdate(DELETE, deletes);
+        }
+        return lost;
+    }
+
+    private void notifyDropped(List<Mutation> lost) {
+        for (Mutation mutation : lost) {
+            for (Consumer<Long> listener : dropListeners) {
+                try {
+                    listener.accept(mutation.id());
+                } catch (RuntimeException e) {
+                    log.error("Drop listener failed for todo {}", mutation.id(), e);
+                }
+            }
+        }
+    }
+
+    // id -> completed of the rows the batch updates or deletes, locked like the synchronous
+    // writes lock them, so TodoCounters counts each change against the committed value
+    private Map<Long, Boolean> lockStoredRows(List<Mutation> batch) {
+        List<Long> ids = batch.stream().filter(mutation -> mutation.kind() != Kind.INSERT).map(Mutation::id).toList();
+        Map<Long, Boolean> stored = new HashMap<>();
+        if (!ids.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            jdbc.query("select id, completed from todo where id in (" + placeholders + ") for update",
+                    rs -> {
+                        stored.put(rs.getLong(1), rs.getBoolean(2));
+                    }, ids.toArray());
+        }
+        return stored;
+    }
+
+    private boolean exists(Long id) {
+        Mutation mutation = pending(id);
+        if (mutation != null) {
+            return mutation.kind() != Kind.DELETE;
+        }
+        Integer count = jdbc.queryForObject("select count(*) from todo where id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    // Same generator and pooled optimizer as persist(), so queued ids never collide with
+    // ids of todos created synchronously; the sequence is only read once per 50 ids
+    private Long nextId(Todo todo) {
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Todo.class).getGenerator();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) generator.generate((SharedSessionContractImplementor) session, todo, null, EventType.INSERT);
+        }
+    }
+
+    private Mutation pendingLocked(Long id) {
+        Mutation mutation = queued.get(id);
+        return mutation != null ? mutation : inFlight.get(id);
+    }
+
+    private long committedBatches() {
+        lock.lock();
+        try {
+            return committedBatches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long oldestPendingSequence() {
+        if (!inFlight.isEmpty()) {
+            return inFlightFirstSequence;
+        }
+        return queued.isEmpty() ? Long.MAX_VALUE : queued.values().iterator().next().sequence;
+    }
+
+    private int queuedCount() {
+        lock.lock();
+        try {
+            return queued.size() + inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Todo copyOf(Todo todo, Long id) {
+        Todo copy = new Todo();
+        copy.setId(id);
+        copy.setTitle(todo.getTitle());
+        copy.setCompleted(todo.isCompleted());
+        return copy;
+    }
+
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+            drained = false;
+        } finally {
+            lock.unlock();
+        }
+        writer = new Thread(this::runWriter, "todo-write-behind");
+        // stop() drains the queue before the context closes; a daemon thread just never
+        // holds the JVM open when the context isn't closed at all
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Stops taking writes into the queue once everything queued so far has committed. */
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(drainTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("{} queued todo writes were not flushed within {}", queuedCount(), drainTimeout);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Below the web server's phases: starts before the first request is accepted and stops
+    // after the last one has been answered, while the DataSource is still open
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public enum Kind {
+        INSERT, UPDATE, DELETE
+    }
+
+    /** A queued write; {@code todo} is the state to write and {@code null} for a delete. */
+    public static final class Mutation {
+        private final Kind kind;
+        private final Long id;
+        private final Todo todo;
+        private long sequence;
+
+        Mutation(Kind kind, Long id, Todo todo) {
+            this.kind = kind;
+            this.id = id;
+            this.todo = todo;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public Long id() {
+            return id;
+        }
+
+        public Todo todo() {
+            return todo == null ? null : copyOf(todo, id);
+        }
+
+        // What is left to write when {@code next} follows this still-queued write
+        Mutation then(Mutation next) {
+            if (kind == Kind.INSERT) {
+                return next.kind == Kind.DELETE ? null : new Mutation(Kind.INSERT, id, next.todo);
+            }
+            return next;
+        }
+    }
+}
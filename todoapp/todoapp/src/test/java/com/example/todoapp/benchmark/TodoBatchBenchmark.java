@@ -0,0 +1,78 @@
+package com.example.todoapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.todoapp.TodoappApplication;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.service.TodoService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares importing todos one {@code save} at a time (what {@code POST /api/todos} does per
+ * item) with a single {@link TodoService#createAll(List)} call (what
+ * {@code POST /api/todos/batch} does), reporting wall time and SQL statements prepared.
+ *
+ * <pre>
+ * ./mvnw test-compile
+ * java -cp "target/classes:target/test-classes:$(./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.todoapp.benchmark.TodoBatchBenchmark 10000
+ * </pre>
+ */
+public class TodoBatchBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        // devtools would otherwise relaunch main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(TodoappApplication.class,
+                "--spring.main.web-application-type=none", "--logging.level.root=warn",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                "--spring.jpa.properties.hibernate.generate_statistics=true")) {
+            TodoService service = context.getBean(TodoService.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            // The first rounds only warm up the JIT
+            for (int round = 0; round < ROUNDS; round++) {
+                long statements = statistics.getPrepareStatementCount();
+                long start = System.nanoTime();
+                for (Todo todo : todos(items)) {
+                    service.save(todo);
+                }
+                long singleMillis = (System.nanoTime() - start) / 1_000_000;
+                long singleStatements = statistics.getPrepareStatementCount() - statements;
+
+                statements = statistics.getPrepareStatementCount();
+                start = System.nanoTime();
+                service.createAll(todos(items));
+                long batchMillis = (System.nanoTime() - start) / 1_000_000;
+                long batchStatements = statistics.getPrepareStatementCount() - statements;
+
+                if (round == ROUNDS - 1) {
+                    System.out.printf("{\"items\":%d,\"singleMillis\":%d,\"singleStatements\":%d,"
+                            + "\"batchMillis\":%d,\"batchStatements\":%d}%n",
+                            items, singleMillis, singleStatements, batchMillis, batchStatements);
+                }
+            }
+        }
+    }
+
+    private static List<Todo> todos(int items) {
+        List<Todo> todos = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Imported todo " + i);
+            todos.add(todo);
+        }
+        return todos;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todoapp.benchmark;
+
+import java.util.Arrays;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.todoapp.TodoappApplication;
+import com.example.todoapp.service.TodoService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares offset pagination ({@code /page}) with keyset pagination ({@code /cursor}) at
+ * increasing page depths. Offset pages slow down with depth and pay for a count on every
+ * request; keyset slices should take the same time at every depth. Besides the median
+ * latency it reports how many SQL statements one request issues.
+ *
+ * <p>Note that the bundled in-memory H2 keeps row counts in its B-tree pages, so OFFSET and
+ * COUNT(*) stay cheap there; the depth penalty shows up on disk-based databases.
+ *
+ * <pre>
+ * ./mvnw test-compile
+ * java -cp "target/classes:target/test-classes:$(./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.todoapp.benchmark.TodoPaginationBenchmark 1000000 20
+ * </pre>
+ */
+public class TodoPaginationBenchmark {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 200;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        // devtools would otherwise relaunch main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(TodoappApplication.class,
+                "--spring.main.web-application-type=none", "--logging.level.root=warn",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                "--spring.jpa.properties.hibernate.generate_statistics=true")) {
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            TodoService service = context.getBean(TodoService.class);
+            jdbc.update("insert into todo (id, title, completed) select x, 'Todo ' || x, mod(x, 2) = 0 from system_range(1, ?)", rows);
+            jdbc.execute("alter sequence todo_seq restart with " + (rows + 1));
+            long firstId = jdbc.queryForObject("select min(id) from todo", Long.class);
+
+            int lastPage = rows / size - 1;
+            int[] pages = { 0, lastPage / 100, lastPage / 10, lastPage / 2, lastPage };
+            // The first pass only warms up the JIT and Hibernate's query plan cache
+            for (int pass = 0; pass < 2; pass++) {
+                for (int page : pages) {
+                    long offsetNanos = median(() -> service.getTodosPaginated(PageRequest.of(page, size)));
+                    long offsetStatements = statements(statistics, () -> service.getTodosPaginated(PageRequest.of(page, size)));
+                    // Keyset equivalent of the same page: seek past the last id of the previous one
+                    long afterId = firstId - 1 + (long) page * size;
+                    long keysetNanos = median(() -> service.getTodosAfter(afterId, size));
+                    long keysetStatements = statements(statistics, () -> service.getTodosAfter(afterId, size));
+                    if (pass == 1) {
+                        System.out.printf("{\"rows\":%d,\"size\":%d,\"page\":%d,\"offsetMicros\":%d,\"offsetStatements\":%d,"
+                                + "\"keysetMicros\":%d,\"keysetStatements\":%d}%n",
+                                rows, size, page, offsetNanos / 1_000, offsetStatements, keysetNanos / 1_000, keysetStatements);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long statements(Statistics statistics, Runnable query) {
+        long before = statistics.getPrepareStatementCount();
+        query.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private static long median(Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+        long[] timings = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings[ITERATIONS / 2];
+    }
+}
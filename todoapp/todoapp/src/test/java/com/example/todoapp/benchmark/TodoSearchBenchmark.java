@@ -0,0 +1,98 @@
+package com.example.todoapp.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.service.TodoSearchIndex;
+
+/**
+ * Measures search latency of {@link TodoSearchIndex} at millions of todos for one-word,
+ * two-word and prefix queries. Titles are three to six words drawn from a synthetic
+ * vocabulary, so a one-word query hits a few hundred todos per million.
+ *
+ * <pre>
+ * ./mvnw test-compile
+ * java -Xmx4g -cp "target/classes:target/test-classes:$(./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.todoapp.benchmark.TodoSearchBenchmark 2000000
+ * </pre>
+ */
+public class TodoSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        int todos = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(random);
+        }
+
+        TodoSearchIndex index = new TodoSearchIndex();
+        long heapBefore = usedHeapAfterGc();
+        long loadStart = System.nanoTime();
+        for (long id = 1; id <= todos; id++) {
+            StringBuilder title = new StringBuilder();
+            for (int w = 3 + random.nextInt(4); w > 0; w--) {
+                title.append(words[random.nextInt(VOCABULARY)]).append(' ');
+            }
+            Todo todo = new Todo();
+            todo.setId(id);
+            todo.setTitle(title.toString().trim());
+            index.index(todo);
+        }
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+        long heapBytes = usedHeapAfterGc() - heapBefore;
+        // Package-private markReady() isn't visible from here; go through reflection
+        var markReady = TodoSearchIndex.class.getDeclaredMethod("markReady");
+        markReady.setAccessible(true);
+        markReady.invoke(index);
+
+        System.out.printf("{\"todos\":%d,\"loadMillis\":%d,\"heapBytes\":%d}%n", todos, loadMillis, heapBytes);
+        report(index, todos, "oneWord", i -> words[random.nextInt(VOCABULARY)]);
+        report(index, todos, "twoWords", i -> words[random.nextInt(VOCABULARY)] + " " + words[random.nextInt(VOCABULARY)]);
+        report(index, todos, "prefix", i -> words[random.nextInt(VOCABULARY)].substring(0, 4));
+    }
+
+    private static void report(TodoSearchIndex index, int todos, String kind, IntFunction<String> queries) {
+        long[] latencies = new long[QUERIES];
+        long hits = 0;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < QUERIES; i++) {
+                String query = queries.apply(i);
+                long start = System.nanoTime();
+                List<Todo> results = index.search(query).orElseThrow();
+                latencies[i] = System.nanoTime() - start;
+                hits += results.size();
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("{\"todos\":%d,\"query\":\"%s\",\"avgHits\":%.1f,\"p50Micros\":%.1f,\"p99Micros\":%.1f,\"p999Micros\":%.1f}%n",
+                todos, kind, hits / (2.0 * QUERIES), percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+                percentile(latencies, 0.999) / 1e3);
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[5 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * sorted.length))];
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
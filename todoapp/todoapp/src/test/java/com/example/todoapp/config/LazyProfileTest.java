@@ -0,0 +1,40 @@
+package com.example.todoapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todoapp.controller.TodoController;
+import com.example.todoapp.service.TodoService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("lazy")
+class LazyProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void onlyTheApiDocsWaitForTheirFirstRequest() throws Exception {
+        String docs = beanFactory.getBeanNamesForType(OpenApiWebMvcResource.class, false, false)[0];
+        assertThat(beanFactory.containsSingleton(docs)).isFalse();
+        assertThat(beanFactory.containsSingleton(beanFactory.getBeanNamesForType(TodoController.class)[0])).isTrue();
+        assertThat(beanFactory.containsSingleton(beanFactory.getBeanNamesForType(TodoService.class)[0])).isTrue();
+
+        mockMvc.perform(get("/api-docs")).andExpect(status().isOk());
+        assertThat(beanFactory.containsSingleton(docs)).isTrue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todoapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+        "todo.concurrency-limit.enabled=true",
+        "todo.rate-limit.enabled=true",
+        "todo.rate-limit.capacity=3",
+        "todo.rate-limit.refill-per-second=0.1" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class LoadSheddingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void rateLimitsEachClientPerEndpoint() throws Exception {
+        // Different ids are the same endpoint, so they drain one bucket
+        for (int id = 900001; id <= 900003; id++) {
+            mockMvc.perform(get("/api/todos/{id}", id).with(client("10.0.0.1")))
+                    .andExpect(status().is(404));
+        }
+        mockMvc.perform(get("/api/todos/{id}", 900004).with(client("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+
+        mockMvc.perform(get("/api/todos/stats").with(client("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/{id}", 900004).with(client("10.0.0.2"))).andExpect(status().is(404));
+        mockMvc.perform(get("/actuator/health").with(client("10.0.0.1"))).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.rate_limit.rejected").tag("uri", "/api/todos/{id}")
+                .counter().count()).isEqualTo(1);
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape).contains("http_server_rate_limit_rejected_total{method=\"GET\",uri=\"/api/todos/{id}\"} 1.0")
+                .contains("http_server_rate_limit_buckets ")
+                .contains("http_server_concurrency_limit ")
+                .contains("http_server_concurrency_latency_seconds{window=\"recent\"}");
+    }
+
+    private static RequestPostProcessor client(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.todoapp.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Runs against a real Tomcat, since gzip is applied by the connector and never shows up in
+ * MockMvc.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PayloadFormatTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TodoRepository repo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long smallTodoId;
+
+    @BeforeEach
+    void seedEnoughTodosToPassTheThreshold() {
+        for (int i = repo.findAll().size(); i < 60; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Payload format todo " + i);
+            repo.save(todo);
+        }
+        smallTodoId = repo.findAll().get(0).getId();
+    }
+
+    @Test
+    void largeListsAreGzippedAndSmallBodiesAreNot() throws Exception {
+        HttpResponse<byte[]> list = get("/api/todos", "application/json", true);
+        assertThat(list.headers().firstValue(HttpHeaders.CONTENT_ENCODING), is(Optional.of("gzip")));
+        Todo[] todos = objectMapper.readValue(new GZIPInputStream(new ByteArrayInputStream(list.body())), Todo[].class);
+        assertThat(todos.length, greaterThanOrEqualTo(60));
+
+        HttpResponse<byte[]> item = get("/api/todos/" + smallTodoId, "application/json", true);
+        assertThat(item.statusCode(), is(200));
+        assertThat(item.headers().firstValue(HttpHeaders.CONTENT_ENCODING), is(Optional.empty()));
+    }
+
+    @Test
+    void cborAndSmileAreNegotiatedThroughAccept() throws Exception {
+        HttpResponse<byte[]> json = get("/api/todos", "application/json", false);
+        Todo[] expected = objectMapper.readValue(json.body(), Todo[].class);
+
+        HttpResponse<byte[]> cbor = get("/api/todos", "application/cbor", false);
+        assertThat(cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE), is(Optional.of("application/cbor")));
+        assertSameTodos(new CBORMapper().readValue(cbor.body(), Todo[].class), expected);
+
+        HttpResponse<byte[]> smile = get("/api/todos", "application/x-jackson-smile", false);
+        assertThat(smile.headers().firstValue(HttpHeaders.CONTENT_TYPE), is(Optional.of("application/x-jackson-smile")));
+        assertSameTodos(new SmileMapper().readValue(smile.body(), Todo[].class), expected);
+        assertThat(smile.body().length < json.body().length, is(true));
+
+        // Each format has its own tag, so a cached JSON body is never revalidated for a CBOR request
+        String jsonTag = json.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(cbor.headers().firstValue(HttpHeaders.ETAG).orElseThrow(), not(jsonTag));
+    }
+
+    @Test
+    void clientsThatAcceptAnythingStillGetJson() throws Exception {
+        HttpResponse<byte[]> response = get("/api/todos", MediaType.ALL_VALUE, false);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_TYPE), is(Optional.of("application/json")));
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static void assertSameTodos(Todo[] actual, Todo[] expected) {
+        assertThat(actual.length, is(expected.length));
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(actual[i].getId(), is(expected[i].getId()));
+            assertThat(actual[i].getTitle(), is(expected[i].getTitle()));
+            assertThat(actual[i].isCompleted(), is(expected[i].isCompleted()));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.todoapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class RequestMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsQueriesPayloadSizesAndServiceTimings() throws Exception {
+        String body = "{\"title\":\"Measure everything\",\"completed\":false}";
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/page").param("page", "0").param("size", "5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/search").param("keyword", "measure")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.db.queries").tag("uri", "/api/todos/page")
+                .summary().max()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("http.server.request.size").tag("uri", "/api/todos")
+                .summary().totalAmount()).isEqualTo(body.length());
+        assertThat(meterRegistry.get("http.server.response.size").tag("uri", "/api/todos/search")
+                .summary().totalAmount()).isPositive();
+        assertThat(meterRegistry.get("service.method").tag("method", "searchTodos").timer().count()).isEqualTo(1);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape).containsPattern("http_server_requests_seconds\\{.*uri=\"/api/todos/search\",quantile=\"0.999\"}")
+                .containsPattern("service_method_seconds\\{.*method=\"searchTodos\",quantile=\"0.99\"}")
+                .containsPattern("http_server_response_size_bytes\\{method=\"GET\",uri=\"/api/todos/page\",quantile=\"0.5\"}");
+    }
+
+    @Test
+    void countsQueriesOfStreamedResponses() throws Exception {
+        double before = queries("/api/todos");
+        MvcResult stream = mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(stream)).andExpect(status().isOk());
+
+        // The rows are read on the async executor's thread, after the filter has returned
+        assertThat(queries("/api/todos") - before).isGreaterThanOrEqualTo(1);
+    }
+
+    private double queries(String uri) {
+        DistributionSummary summary = meterRegistry.find("http.server.db.queries").tag("uri", uri).tag("method", "GET")
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.todoapp.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.todoapp.repository.TodoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class TodoBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoRepository repo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createsInOrderWithBatchedInserts() throws Exception {
+        List<Map<String, Object>> todos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            todos.add(Map.of("title", "Imported " + i, "completed", i % 2 == 0));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        JsonNode results = perform(post("/api/todos/batch"), todos);
+
+        // 500 inserts plus sequence calls would be over 500 statements without batching
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore, lessThan(50L));
+        long previousId = 0;
+        for (int i = 0; i < 500; i++) {
+            JsonNode result = results.get(i);
+            assertThat(result.get("index").asInt(), is(i));
+            assertThat(result.get("status").asText(), is("CREATED"));
+            assertThat(previousId, lessThan(result.get("id").asLong()));
+            previousId = result.get("id").asLong();
+        }
+        assertThat(repo.findById(previousId).orElseThrow().getTitle(), is("Imported 499"));
+    }
+
+    @Test
+    void reportsPerItemResultsForUpdatesAndDeletes() throws Exception {
+        JsonNode created = perform(post("/api/todos/batch"), List.of(Map.of("title", "First"), Map.of("title", "Second")));
+        long first = created.get(0).get("id").asLong();
+        long second = created.get(1).get("id").asLong();
+
+        JsonNode updated = perform(put("/api/todos/batch"), List.of(
+                Map.of("id", first, "title", "First, renamed", "completed", true),
+                Map.of("id", Long.MAX_VALUE, "title", "Missing"),
+                Map.of("title", "No id")));
+        assertThat(updated.get(0).get("status").asText(), is("UPDATED"));
+        assertThat(updated.get(1).get("status").asText(), is("NOT_FOUND"));
+        assertThat(updated.get(2).get("status").asText(), is("INVALID"));
+        assertThat(repo.findById(first).orElseThrow().getTitle(), is("First, renamed"));
+
+        JsonNode deleted = perform(delete("/api/todos/batch"), List.of(second, Long.MAX_VALUE, second));
+        assertThat(deleted.get(0).get("status").asText(), is("DELETED"));
+        assertThat(deleted.get(1).get("status").asText(), is("NOT_FOUND"));
+        assertThat(deleted.get(2).get("status").asText(), is("NOT_FOUND"));
+        assertThat(repo.existsById(second), is(false));
+    }
+
+    @Test
+    void rejectsOversizedBatches() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= 10_000; id++) {
+            ids.add(id);
+        }
+        mockMvc.perform(delete("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, Object body)
+            throws Exception {
+        String response = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
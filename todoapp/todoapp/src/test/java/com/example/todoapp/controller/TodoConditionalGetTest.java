@@ -0,0 +1,99 @@
+package com.example.todoapp.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class TodoConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listAnswers304WithoutQueryingUntilSomethingChanges() throws Exception {
+        String etag = etagOf(mockMvc.perform(get("/api/todos")).andExpect(status().isOk()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/api/todos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/todos/page").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore, is(0L));
+
+        create("Invalidates the list");
+
+        String changed = etagOf(mockMvc.perform(get("/api/todos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()));
+        assertThat(changed, not(etag));
+        // The NDJSON stream is another representation of the same URL, so it has its own tag
+        String ndjson = etagOf(mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_NDJSON)));
+        assertThat(ndjson, not(changed));
+    }
+
+    @Test
+    void itemTagOnlyMovesWhenThatTodoChanges() throws Exception {
+        long id = create("Watched");
+        long other = create("Unrelated");
+        String etag = etagOf(mockMvc.perform(get("/api/todos/{id}", id)).andExpect(status().isOk()));
+
+        mockMvc.perform(put("/api/todos/{id}", other).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Unrelated, edited\"}")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/todos/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Watched, edited\",\"completed\":true}")).andExpect(status().isOk());
+        etag = etagOf(mockMvc.perform(get("/api/todos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()));
+
+        mockMvc.perform(delete("/api/todos/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    private long create(String title) throws Exception {
+        String response = mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"" + title + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private static String etagOf(ResultActions result) {
+        String etag = result.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag, notNullValue());
+        return etag;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todoapp.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodoCursorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void followsNextCursorToTheLastSlice() throws Exception {
+        List<Map<String, Object>> todos = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            todos.add(Map.of("title", "Paged " + i));
+        }
+        JsonNode created = perform(post("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(todos)));
+        List<Long> createdIds = new ArrayList<>();
+        created.forEach(result -> createdIds.add(result.get("id").asLong()));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        JsonNode slice = perform(get("/api/todos/cursor").param("limit", "3"));
+        while (slice.get("hasNext").asBoolean()) {
+            assertThat(slice.get("content").size(), is(3));
+            slice.get("content").forEach(todo -> seen.add(todo.get("id").asLong()));
+            cursor = slice.get("nextCursor").asText();
+            slice = perform(get("/api/todos/cursor").param("limit", "3").param("after", cursor));
+        }
+        int last = slice.get("content").size();
+        assertThat(last, lessThanOrEqualTo(3));
+        assertThat(slice.get("nextCursor").isNull(), is(true));
+        slice.get("content").forEach(todo -> seen.add(todo.get("id").asLong()));
+
+        // Every todo once, in id order, with no overlap or gap between slices
+        for (int i = 1; i < seen.size(); i++) {
+            assertThat(seen.get(i - 1), lessThan(seen.get(i)));
+        }
+        assertThat(seen, hasItems(createdIds.toArray(Long[]::new)));
+        assertThat(seen.get(seen.size() - 1), is(createdIds.get(createdIds.size() - 1)));
+
+        // A last slice that exactly fills the limit has no next slice either
+        JsonNode exact = perform(get("/api/todos/cursor").param("limit", String.valueOf(last)).param("after", cursor));
+        assertThat(exact.get("content").size(), is(last));
+        assertThat(exact.get("hasNext").asBoolean(), is(false));
+        assertThat(exact.get("nextCursor").isNull(), is(true));
+    }
+
+    @Test
+    void rejectsMalformedCursors() throws Exception {
+        mockMvc.perform(get("/api/todos/cursor").param("after", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+        // Valid base64, but not an id
+        mockMvc.perform(get("/api/todos/cursor").param("after", "YWJj"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.todoapp.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoSearchIndex;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+
+/**
+ * Guards the fetch plan of the list endpoints: each one may run at most a fixed number of
+ * SQL statements however many distinct users own the todos. A query per user shows up
+ * here as a statement count that grows with {@link #USERS}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class TodoFetchPlanTest {
+    private static final int USERS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository repo;
+
+    @Autowired
+    private TodoSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seedOneTodoPerUser() throws InterruptedException {
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < USERS; i++) {
+            jdbc.update("insert into app_user (name) values (?)", run + " " + i);
+            Todo todo = new Todo();
+            todo.setTitle("Owned " + run + " " + i);
+            repo.save(todo);
+        }
+        jdbc.update("update todo t set user_id = (select u.id from app_user u where 'Owned ' || u.name = t.title)"
+                + " where t.title like ?", "Owned " + run + " %");
+        // The index loader reads every todo in the background at startup; let it finish
+        // so its statements aren't counted against a request
+        for (int i = 0; i < 100 && !searchIndex.isReady(); i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void listEndpointsRunAFixedNumberOfStatements() throws Exception {
+        assertThat(statementsFor(get("/api/todos")), lessThanOrEqualTo(1L));
+        // content and count
+        assertThat(statementsFor(get("/api/todos/page").param("page", "1").param("size", "5")), lessThanOrEqualTo(2L));
+        assertThat(statementsFor(get("/api/todos/cursor").param("limit", "100")), lessThanOrEqualTo(1L));
+        assertThat(statementsFor(get("/api/todos/search").param("keyword", "owned")), lessThanOrEqualTo(1L));
+    }
+
+    @Test
+    void listQueriesLoadUsersInTheSameSelect() {
+        Statistics statistics = statistics();
+        PersistenceUnitUtil util = entityManagerFactory.getPersistenceUnitUtil();
+
+        long before = statistics.getPrepareStatementCount();
+        List<Todo> all = repo.findAll();
+        List<Todo> found = repo.findByTitleContainingIgnoreCase("owned");
+        List<Todo> page = repo.findAll(PageRequest.of(0, 10)).getContent();
+        List<Todo> slice = repo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10)).getContent();
+
+        assertThat(statistics.getPrepareStatementCount() - before, lessThanOrEqualTo(5L));
+        for (List<Todo> todos : List.of(all, found, page, slice)) {
+            assertThat(todos.stream().allMatch(todo -> util.isLoaded(todo, "user")), is(true));
+        }
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        Statistics statistics = statistics();
+        long before = statistics.getPrepareStatementCount();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
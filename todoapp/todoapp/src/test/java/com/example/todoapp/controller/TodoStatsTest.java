@@ -0,0 +1,132 @@
+package com.example.todoapp.controller;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matcher;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class TodoStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void countsFollowEveryWriteAndAreServedWithoutQueries() throws Exception {
+        JsonNode before = stats();
+
+        long done = create("Counted, done", true);
+        long open = create("Counted, open", false);
+        mockMvc.perform(put("/api/todos/{id}", open).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Counted, now done\",\"completed\":true}")).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/todos/{id}", done)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Batch, open\"},{\"title\":\"Batch, done\",\"completed\":true}]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":" + open + ",\"title\":\"Counted, reopened\",\"completed\":false}]"))
+                .andExpect(status().isOk());
+        // Unknown and repeated ids must not be counted twice
+        mockMvc.perform(delete("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + open + ", " + open + ", " + done + "]"))
+                .andExpect(status().isOk());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        JsonNode after = stats();
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore, is(0L));
+
+        // Net: the two batch todos, one of them completed
+        assertThat(after.get("total").asLong() - before.get("total").asLong(), is(2L));
+        assertThat(after.get("completed").asLong() - before.get("completed").asLong(), is(1L));
+        assertThat(after.get("pending").asLong(), is(after.get("total").asLong() - after.get("completed").asLong()));
+        assertThat(after.get("total").asLong(), is(jdbc.queryForObject("select count(*) from todo", Long.class)));
+    }
+
+    @Test
+    void completedFilterReadsOneRangeOfTheIndex(CapturedOutput output) throws Exception {
+        long done = create("Filtered, done", true);
+        long open = create("Filtered, open", false);
+
+        mockMvc.perform(get("/api/todos").param("completed", "true"))
+                .andExpect(jsonPath("$[*].completed", everyItem(is(true))))
+                .andExpect(jsonPath("$[*].id", hasItem((int) done)));
+        String sql = lastStatement(output);
+        assertThat(jdbc.queryForObject("explain " + sql, String.class, true), usesCompletedIndex());
+
+        mockMvc.perform(get("/api/todos/page").param("completed", "false").param("size", "100"))
+                .andExpect(jsonPath("$.content[*].completed", everyItem(is(false))));
+        mockMvc.perform(get("/api/todos/cursor").param("completed", "false").param("limit", "100"))
+                .andExpect(jsonPath("$.content[*].completed", everyItem(is(false))))
+                .andExpect(jsonPath("$.content[*].id", not(hasItem((int) done))));
+        sql = lastStatement(output);
+        assertThat(jdbc.queryForObject("explain " + sql, String.class, false, open - 1, 101), usesCompletedIndex());
+    }
+
+    private static Matcher<String> usesCompletedIndex() {
+        return containsStringIgnoringCase("idx_todo_completed_id");
+    }
+
+    // spring.jpa.show-sql prints every statement on one line after "Hibernate:"; the session
+    // metrics logged by generate_statistics follow on the next lines
+    private static String lastStatement(CapturedOutput output) {
+        String log = output.getOut();
+        String tail = log.substring(log.lastIndexOf("Hibernate:") + "Hibernate:".length()).trim();
+        return tail.lines().findFirst().orElseThrow();
+    }
+
+    private JsonNode stats() throws Exception {
+        String body = mockMvc.perform(get("/api/todos/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private long create(String title, boolean completed) throws Exception {
+        String response = mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"" + title + "\",\"completed\":" + completed + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.todoapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.todoapp.model.Todo;
+
+class TodoSearchIndexTest {
+
+    private final TodoSearchIndex index = new TodoSearchIndex();
+
+    @Test
+    void answersOnlyOnceReady() {
+        index.index(todo(1L, "Learn Spring Boot"));
+
+        assertFalse(index.search("spring").isPresent());
+        index.markReady();
+        assertEquals(List.of(1L), ids("spring"));
+    }
+
+    @Test
+    void matchesCaseFoldedWordPrefixesOfEveryQueryWord() {
+        index.index(todo(1L, "Learn Spring Boot"));
+        index.index(todo(2L, "Spring cleaning"));
+        index.index(todo(3L, "Boot camp"));
+        index.markReady();
+
+        assertEquals(List.of(1L, 2L), ids("SPRING"));
+        assertEquals(List.of(1L), ids("spr boo"));
+        assertEquals(List.of(), ids("spring camp"));
+        assertEquals(List.of(), ids("ring"));
+        assertFalse(index.search("  !! ").isPresent());
+    }
+
+    @Test
+    void ranksExactWordMatchesBeforePrefixMatches() {
+        index.index(todo(1L, "Write documentation"));
+        index.index(todo(2L, "Write doc"));
+        index.index(todo(3L, "Write tests"));
+        index.markReady();
+
+        assertEquals(List.of(2L, 1L), ids("doc"));
+        // Equal scores keep id order
+        assertEquals(List.of(1L, 2L, 3L), ids("write"));
+    }
+
+    @Test
+    void updatesAndDeletesAreReflected() {
+        index.index(todo(1L, "Buy milk"));
+        index.markReady();
+
+        index.index(todo(1L, "Buy bread"));
+        assertEquals(List.of(), ids("milk"));
+        assertEquals(List.of(1L), ids("bread"));
+
+        index.remove(1L);
+        assertEquals(List.of(), ids("bread"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void initialLoadNeverOverridesLiveWrites() {
+        index.index(todo(1L, "New title"));
+        index.remove(2L);
+
+        index.load(todo(1L, "Old title"));
+        index.load(todo(2L, "Deleted meanwhile"));
+        index.load(todo(3L, "Untouched"));
+        index.markReady();
+
+        assertEquals(List.of(1L), ids("new"));
+        assertEquals(List.of(), ids("old"));
+        assertEquals(List.of(), ids("deleted"));
+        assertEquals(List.of(3L), ids("untouched"));
+        assertTrue(index.isReady());
+    }
+
+    private List<Long> ids(String keyword) {
+        return index.search(keyword).orElseThrow().stream().map(Todo::getId).toList();
+    }
+
+    private static Todo todo(Long id, String title) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        return todo;
+    }
+}
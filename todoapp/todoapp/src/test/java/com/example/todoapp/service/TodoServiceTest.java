@@ -0,0 +1,107 @@
+package com.example.todoapp.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+
+@SpringBootTest
+class TodoServiceTest {
+
+    @Autowired
+    private TodoService service;
+
+    @Autowired
+    private TodoRepository repo;
+
+    @MockitoSpyBean
+    private TodoSearchIndex searchIndex;
+
+    @Test
+    void searchIndexFollowsCommitOrder() throws Exception {
+        // Stubbing a spy isn't safe while the initial load is still calling it
+        while (!searchIndex.isReady()) {
+            Thread.sleep(10);
+        }
+        long id = service.save(todo(null, "Contended start")).getId();
+        CountDownLatch firstCommitted = new CountDownLatch(1);
+        CountDownLatch secondSaved = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (invocation.<Todo>getArgument(0).getTitle().equals("Contended first")) {
+                firstCommitted.countDown();
+                // Gives the second save every chance to commit and index before this one does
+                secondSaved.await(1, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(searchIndex).index(any());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = pool.submit(() -> service.save(todo(id, "Contended first")));
+            firstCommitted.await();
+            Future<?> second = pool.submit(() -> {
+                service.save(todo(id, "Contended second"));
+                secondSaved.countDown();
+            });
+            first.get();
+            second.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(repo.findById(id).orElseThrow().getTitle(), is("Contended second"));
+        assertThat(searchIndex.search("contended").orElseThrow().stream()
+                .filter(todo -> todo.getId() == id)
+                .map(Todo::getTitle)
+                .toList(), contains("Contended second"));
+    }
+
+    @Test
+    void databaseFallbackMatchesLikeTheIndex() throws Exception {
+        while (!searchIndex.isReady()) {
+            Thread.sleep(10);
+        }
+        List<Long> ids = List.of("Buy zqxmilk today", "Subzqxmilk carton, buy", "Zqxmilky way: buying", "Zqxmilk only")
+                .stream().map(title -> service.save(todo(null, title)).getId()).toList();
+        List<String> indexed = titles(service.searchTodos("zqxmil BUY"), ids);
+
+        // Answers as if the index were still loading
+        doReturn(Optional.empty()).when(searchIndex).search(anyString());
+        List<String> fallback = titles(service.searchTodos("zqxmil BUY"), ids);
+
+        // Only at the start of a word, and every word has to match
+        assertThat(fallback, containsInAnyOrder("Buy zqxmilk today", "Zqxmilky way: buying"));
+        assertThat(fallback, containsInAnyOrder(indexed.toArray()));
+    }
+
+    private static List<String> titles(List<Todo> todos, List<Long> ids) {
+        return todos.stream().filter(todo -> ids.contains(todo.getId())).map(Todo::getTitle).toList();
+    }
+
+    private static Todo todo(Long id, String title) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        return todo;
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.todoapp.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.todoapp.controller.WriteQueueFullException;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// A small pool that runs out quickly, see streamsDoNotHoldConnectionsWhileWritesArePending
+@SpringBootTest(properties = { "todo.write-behind.enabled=true", "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=500" })
+@AutoConfigureMockMvc
+class TodoWriteBehindTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoRepository repo;
+
+    @Autowired
+    private TodoWriteBehind writeBehind;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TodoCounters counters;
+
+    @Autowired
+    private TodoSearchIndex searchIndex;
+
+    @Autowired
+    private TodoService service;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void clientsReadTheirOwnWrites() throws Exception {
+        String created = mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Queued\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/api/todos/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title", is("Queued")));
+        mockMvc.perform(put("/api/todos/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Queued, edited\",\"completed\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is((int) id)));
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].title", hasItem("Queued, edited")));
+
+        mockMvc.perform(delete("/api/todos/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/{id}", id)).andExpect(status().isNotFound());
+
+        writeBehind.awaitFlushed();
+        assertThat(repo.existsById(id), is(false));
+    }
+
+    @Test
+    void coalescesWritesToTheSameTodo() {
+        // Not started, so everything stays queued until start()
+        TodoWriteBehind queue = newWriteBehind(100);
+        Todo kept = queue.save(todo(null, "First"));
+        queue.save(todo(kept.getId(), "Second"));
+        Todo dropped = queue.save(todo(null, "Created and deleted"));
+        queue.delete(dropped.getId());
+
+        assertThat(queue.pending(kept.getId()).kind(), is(TodoWriteBehind.Kind.INSERT));
+        assertThat(queue.pending(kept.getId()).todo().getTitle(), is("Second"));
+        assertThat(queue.pending(dropped.getId()), nullValue());
+        assertThat(repo.existsById(kept.getId()), is(false));
+        assertThat(registry.counter("todo.write_behind.coalesced").count(), is(2.0));
+
+        queue.start();
+        queue.awaitFlushed();
+        assertThat(repo.findById(kept.getId()).orElseThrow().getTitle(), is("Second"));
+        assertThat(repo.existsById(dropped.getId()), is(false));
+        assertThat(queue.pending(kept.getId()), nullValue());
+        assertThat(registry.summary("todo.write_behind.batch.size").totalAmount(), is(1.0));
+        queue.stop();
+    }
+
+    @Test
+    void rejectsNewTodosWhileTheQueueIsFull() {
+        TodoWriteBehind queue = newWriteBehind(2);
+        Todo first = queue.save(todo(null, "One"));
+        queue.save(todo(null, "Two"));
+
+        assertThrows(WriteQueueFullException.class, () -> queue.save(todo(null, "Three")));
+        // Replacing a queued write needs no room
+        queue.save(todo(first.getId(), "One, edited"));
+        assertThat(registry.counter("todo.write_behind.rejected").count(), is(1.0));
+
+        queue.start();
+        queue.stop();
+        assertThat(repo.findById(first.getId()).orElseThrow().getTitle(), is("One, edited"));
+    }
+
+    @Test
+    void stopDrainsTheQueueAndLaterWritesCommitRightAway() {
+        TodoWriteBehind queue = newWriteBehind(100);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(queue.save(todo(null, "Drained " + i)).getId());
+        }
+
+        queue.start();
+        queue.stop();
+        assertThat(repo.findAllById(ids).size(), is(20));
+
+        Todo late = queue.save(todo(null, "After shutdown"));
+        assertThat(queue.pending(late.getId()), nullValue());
+        assertThat(repo.existsById(late.getId()), is(true));
+    }
+
+    @Test
+    void looksTodosUpWithoutHoldingUpTheQueue() throws Exception {
+        CountDownLatch lookingUp = new CountDownLatch(1);
+        CountDownLatch answer = new CountDownLatch(1);
+        JdbcTemplate slowLookups = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+                lookingUp.countDown();
+                try {
+                    answer.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.queryForObject(sql, requiredType, args);
+            }
+        };
+        TodoWriteBehind queue = new TodoWriteBehind(transactionManager, slowLookups, entityManagerFactory, counters,
+                registry, 100, 50, Duration.ofMillis(10), Duration.ofSeconds(10));
+        long id = repo.save(todo(null, "Looked up")).getId();
+
+        ExecutorService writers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Todo> edited = writers.submit(() -> queue.save(todo(id, "Looked up, edited")));
+            lookingUp.await();
+            // Other writes and reads go ahead while the database answers
+            Todo other = writers.submit(() -> queue.save(todo(null, "Not held up"))).get(5, TimeUnit.SECONDS);
+            assertThat(queue.pending(other.getId()).kind(), is(TodoWriteBehind.Kind.INSERT));
+
+            answer.countDown();
+            assertThat(edited.get(5, TimeUnit.SECONDS).getId(), is(id));
+            assertThat(queue.pending(id).kind(), is(TodoWriteBehind.Kind.UPDATE));
+        } finally {
+            answer.countDown();
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void dropsUpdatesOfTodosDeletedSinceTheyWereQueued() {
+        TodoWriteBehind queue = newWriteBehind(100);
+        List<Long> lost = new ArrayList<>();
+        queue.onDropped(lost::add);
+        long id = repo.save(todo(null, "Stored")).getId();
+        queue.save(todo(id, "Stored, edited"));
+        assertThat(queue.pending(id).kind(), is(TodoWriteBehind.Kind.UPDATE));
+
+        // Deleted behind the queue's back, as DELETE /api/todos/batch does
+        repo.deleteById(id);
+        queue.start();
+        queue.stop();
+        assertThat(lost, contains(id));
+        assertThat(repo.existsById(id), is(false));
+        assertThat(registry.counter("todo.write_behind.dropped").count(), is(1.0));
+    }
+
+    @Test
+    void streamsDoNotHoldConnectionsWhileWritesArePending() throws Exception {
+        long blocked = service.save(todo(null, "Pool blocked")).getId();
+        long waited = service.save(todo(null, "Pool waited")).getId();
+        writeBehind.awaitFlushed();
+        List<Long> lost = new CopyOnWriteArrayList<>();
+        writeBehind.onDropped(lost::add);
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        int streams = dataSource.getMaximumPoolSize();
+
+        ExecutorService readers = Executors.newFixedThreadPool(streams);
+        List<Future<List<String>>> titles = new ArrayList<>();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try {
+                    // One connection here, and one for the writer, blocked on this row lock
+                    jdbcTemplate.queryForObject("select id from todo where id = ? for update", Long.class, blocked);
+                    service.save(todo(blocked, "Pool blocked, edited"));
+                    eventually(() -> pool.getActiveConnections() == 2);
+                    // The next batch, which needs a connection of its own once the first commits
+                    service.save(todo(waited, "Pool waited, edited"));
+                    for (int i = 0; i < streams; i++) {
+                        titles.add(readers.submit(() -> {
+                            List<String> seen = new ArrayList<>();
+                            service.streamAll(todo -> seen.add(todo.getTitle()));
+                            return seen;
+                        }));
+                    }
+                    // Streams that held a connection while they wait would fill the pool, and
+                    // the ones queued for it would take every connection the writer gives back
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                    while (pool.getThreadsAwaitingConnection() < 2 && System.nanoTime() - deadline < 0) {
+                        Thread.sleep(10);
+                    }
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            for (Future<List<String>> seen : titles) {
+                assertThat(seen.get(10, TimeUnit.SECONDS), hasItems("Pool blocked, edited", "Pool waited, edited"));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertThat(repo.findById(waited).orElseThrow().getTitle(), is("Pool waited, edited"));
+        assertThat(lost, not(hasItem(waited)));
+    }
+
+    @Test
+    void droppedWritesLeaveTheSearchIndexAndInvalidateTheirETag() throws Exception {
+        String created = mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Vanishing original\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+        writeBehind.awaitFlushed();
+
+        List<String> etags = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Holds the row so the writer can't update it before it is gone
+            jdbcTemplate.queryForObject("select id from todo where id = ? for update", Long.class, id);
+            try {
+                mockMvc.perform(put("/api/todos/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Vanishing edit\"}"))
+                        .andExpect(status().isOk());
+                etags.add(mockMvc.perform(get("/api/todos/{id}", id))
+                        .andExpect(jsonPath("$.data.title", is("Vanishing edit")))
+                        .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            jdbcTemplate.update("delete from todo where id = ?", id);
+        });
+
+        eventually(() -> searchIndex.isReady() && searchIndex.search("vanishing").orElseThrow().isEmpty());
+        mockMvc.perform(get("/api/todos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etags.get(0)))
+                .andExpect(status().isNotFound());
+    }
+
+    // Drop listeners run on the writer thread just after awaitFlushed() returns
+    private static void eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean(), is(true));
+    }
+
+    private TodoWriteBehind newWriteBehind(int capacity) {
+        return new TodoWriteBehind(transactionManager, jdbcTemplate, entityManagerFactory, counters, registry,
+                capacity, 50, Duration.ofMillis(10), Duration.ofSeconds(10));
+    }
+
+    private static Todo todo(Long id, String title) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title);
+        return todo;
+    }
+}
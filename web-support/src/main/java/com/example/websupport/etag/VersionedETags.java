@@ -0,0 +1,59 @@
+package com.example.websupport.etag;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Version counters behind a controller's ETags. The collection version moves on every write;
+ * an item's own version is the collection version of its last write, or 0 when it hasn't been
+ * written since startup. Each tag starts with a random per-process epoch, so tags handed out
+ * before a restart never match afterwards.
+ *
+ * <p>Writers call {@link #changed} once the write is durable. A reader that takes the tag
+ * before loading can then only pair new data with an old tag (one extra full response later),
+ * never old data with a new tag.
+ *
+ * <p>Tags are weak, as Tomcat doesn't gzip a response with a strong ETag. The Accept header
+ * picks the body's format, so its hash is part of the tag and one format's tag never
+ * validates another's body.
+ */
+public class VersionedETags {
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong collection = new AtomicLong();
+    // Deleted ids keep their entry, so a GET after a delete can't match the tag from before it
+    private final Map<Long, Long> items = new ConcurrentHashMap<>();
+
+    public String collectionETag(WebRequest request) {
+        return etag(collection.get(), request);
+    }
+
+    public String itemETag(Long id, WebRequest request) {
+        return etag(items.getOrDefault(id, 0L), request);
+    }
+
+    /** Moves the collection, and the item too unless {@code id} is null. */
+    public void changed(Long id) {
+        long version = collection.incrementAndGet();
+        if (id != null) {
+            items.put(id, version);
+        }
+    }
+
+    /** Moves the collection once for a write that touched all of {@code ids}. */
+    public void changed(Collection<Long> ids) {
+        long version = collection.incrementAndGet();
+        ids.forEach(id -> items.put(id, version));
+    }
+
+    private String etag(long version, WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String variant = accept == null ? "" : "-" + Integer.toString(accept.hashCode() & Integer.MAX_VALUE, 36);
+        return "W/\"" + epoch + "-" + version + variant + "\"";
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.websupport.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The SQL statements one request ran. {@link RequestMetricsFilter} starts it on the request
+ * thread; {@link QueryCountCallableInterceptor} resumes it on the thread that runs the rest of
+ * an async ({@code Callable} or {@code StreamingResponseBody}) response. Statements outside a
+ * request (startup, background work) are not counted.
+ */
+public final class QueryCount {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+    static final String ATTRIBUTE = QueryCount.class.getName();
+
+    private final AtomicLong statements = new AtomicLong();
+    private volatile boolean resumed;
+
+    private QueryCount() {
+    }
+
+    static QueryCount start(HttpServletRequest request) {
+        QueryCount count = new QueryCount();
+        request.setAttribute(ATTRIBUTE, count);
+        CURRENT.set(count);
+        return count;
+    }
+
+    // Counts the statements of the current thread into the count its request started, if any
+    static void resume(Object count) {
+        if (count instanceof QueryCount queries) {
+            queries.resumed = true;
+            CURRENT.set(queries);
+        }
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void increment() {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.statements.incrementAndGet();
+        }
+    }
+
+    long statements() {
+        return statements.get();
+    }
+
+    // Whether statements run after the request thread left the filter were counted too
+    boolean resumed() {
+        return resumed;
+    }
+}
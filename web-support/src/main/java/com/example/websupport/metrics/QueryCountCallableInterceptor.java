@@ -0,0 +1,25 @@
+package com.example.websupport.metrics;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+/**
+ * Carries a request's {@link QueryCount} to the task executor thread that runs its
+ * {@code Callable} or {@code StreamingResponseBody}, where full-collection streams run their
+ * queries. Register it with {@code AsyncSupportConfigurer.registerCallableInterceptors}.
+ */
+public class QueryCountCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        QueryCount.resume(request.getAttribute(QueryCount.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryCount.stop();
+    }
+}
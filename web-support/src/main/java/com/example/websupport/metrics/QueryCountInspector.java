@@ -0,0 +1,16 @@
+package com.example.websupport.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares into the {@link QueryCount} of the request
+ * the current thread is serving. Registered as Hibernate's {@code STATEMENT_INSPECTOR}.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount.increment();
+        return sql;
+    }
+}
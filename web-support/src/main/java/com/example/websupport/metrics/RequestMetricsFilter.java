@@ -0,0 +1,174 @@
+package com.example.websupport.metrics;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Records per endpoint how many bytes a request read and wrote, and with {@code countQueries}
+ * how many SQL statements it ran, next to the {@code http.server.requests} timings Spring Boot
+ * already keeps. Counting statements needs {@link QueryCountInspector} registered with
+ * Hibernate and, for streamed responses, {@link QueryCountCallableInterceptor} with Spring MVC;
+ * an async response completed by any other thread has no statement count. Meters are tagged
+ * with the matched URI pattern, never the raw path, so ids in paths don't create a series per id.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final boolean countQueries;
+
+    public RequestMetricsFilter(MeterRegistry registry, boolean countQueries) {
+        this.registry = registry;
+        this.countQueries = countQueries;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        QueryCount queries = countQueries ? QueryCount.start(request) : null;
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            QueryCount.stop();
+        }
+        counting.flushWriter();
+        if (!request.isAsyncStarted()) {
+            record(request, counting, queries);
+            return;
+        }
+        // Streamed responses are written after this returns; record once the body is complete
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                // Left out rather than undercounted when no interceptor carried the count along
+                record(request, counting, queries != null && queries.resumed() ? queries : null);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response, QueryCount queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+        if (queries != null) {
+            DistributionSummary.builder("http.server.db.queries")
+                    .description("SQL statements run while serving a request")
+                    .tags(tags)
+                    .register(registry)
+                    .record(queries.statements());
+        }
+        if (request.getContentLengthLong() >= 0) {
+            DistributionSummary.builder("http.server.request.size")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry)
+                    .record(request.getContentLengthLong());
+        }
+        DistributionSummary.builder("http.server.response.size")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry)
+                .record(response.bytesWritten);
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private long bytesWritten;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytesWritten++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytesWritten += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // Nothing else flushes the writer handed out here, and what it buffers is neither
+        // sent nor counted until it is
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+    }
+}
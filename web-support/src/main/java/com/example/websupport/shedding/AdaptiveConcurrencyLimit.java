@@ -0,0 +1,115 @@
+package com.example.websupport.shedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limit on requests in progress that follows latency, after the gradient algorithm of
+ * Netflix's concurrency-limits. The recent latency is a short moving average; the baseline is
+ * the lowest it has been, allowed to creep up over a few thousand requests so it follows the
+ * app getting slower for good (more data) but not a burst of load. While recent latency stays
+ * within 1.5x the baseline the limit grows by about its square root per update; beyond that it
+ * shrinks in proportion, so requests are turned away as soon as they start waiting on a
+ * saturated resource (the connection pool, the CPU, a write queue) instead of piling up
+ * behind it. An explicit overload signal, a 503 from further down, cuts the limit by 10% at
+ * once.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+    // Recent latency averages roughly the last 10 requests; the baseline rises toward it with
+    // a time constant of about 5000 requests
+    private static final double RECENT_WEIGHT = 2.0 / 11;
+    private static final double BASELINE_DRIFT = 1.0 / 5000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    // Written under the lock, read without it by tryAcquire() and the gauges
+    private volatile double limit;
+    private volatile double recentNanos;
+    private volatile double baselineNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Need 1 <= min <= initial <= max, got min " + minLimit + ", initial "
+                    + initialLimit + ", max " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot for a request, or returns {@code false} if {@link #limit()} requests are
+     * already in progress. Every slot taken must be given back with one of the release methods.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Gives back the slot of a request that was served in {@code nanos}. */
+    public void release(long nanos) {
+        int running = inflight.getAndDecrement();
+        update(nanos, running);
+    }
+
+    /** Gives back the slot of a request that failed for lack of capacity further down. */
+    public void releaseDropped() {
+        inflight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+        }
+    }
+
+    /** Gives back the slot of a request whose latency says nothing about load, e.g. a server error. */
+    public void releaseIgnored() {
+        inflight.decrementAndGet();
+    }
+
+    private synchronized void update(long nanos, int running) {
+        if (baselineNanos == 0) {
+            baselineNanos = nanos;
+            recentNanos = nanos;
+            return;
+        }
+        recentNanos += RECENT_WEIGHT * (nanos - recentNanos);
+        if (recentNanos < baselineNanos) {
+            baselineNanos = recentNanos;
+        } else {
+            baselineNanos += BASELINE_DRIFT * (recentNanos - baselineNanos);
+        }
+        // With most slots idle the latency can't tell whether the limit is too high
+        if (running < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / recentNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    public double recentLatencyNanos() {
+        return recentNanos;
+    }
+
+    public double baselineLatencyNanos() {
+        return baselineNanos;
+    }
+}
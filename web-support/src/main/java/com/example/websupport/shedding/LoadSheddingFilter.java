@@ -0,0 +1,122 @@
+package com.example.websupport.shedding;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Turns requests away before they cost anything: {@code 429} when the client's
+ * {@link TokenBucketRateLimiter} bucket is empty, then {@code 503} when the
+ * {@link AdaptiveConcurrencyLimit} is reached, both with {@code Retry-After}. Either limit may
+ * be {@code null} (switched off). Runs first in the chain, ahead of actuator's request
+ * timing, so a rejection is only a counter increment; shed requests are counted in
+ * {@code http.server.rate_limit.rejected} and {@code http.server.concurrency.rejected}, not in
+ * {@code http.server.requests}. Latency samples are the time spent in the rest of the chain.
+ * An async (streamed) response gives its slot back without a sample once the handler has
+ * returned: the rest goes at the pace the client reads, which says nothing about load.
+ * {@code /actuator} is exempt so health checks and scrapes get through an overload.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter implements Ordered {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter concurrencyRejected;
+
+    public LoadSheddingFilter(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimit concurrencyLimit,
+            MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.concurrencyRejected = Counter.builder("http.server.concurrency.rejected")
+                .description("Requests answered 503 because the concurrency limit was reached")
+                .register(registry);
+        if (concurrencyLimit != null) {
+            Gauge.builder("http.server.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                    .description("Requests allowed in progress at once")
+                    .register(registry);
+            Gauge.builder("http.server.concurrency.inflight", concurrencyLimit, AdaptiveConcurrencyLimit::inflight)
+                    .description("Requests in progress")
+                    .register(registry);
+            Gauge.builder("http.server.concurrency.latency", concurrencyLimit, l -> l.baselineLatencyNanos() / 1e9)
+                    .tag("window", "baseline")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("http.server.concurrency.latency", concurrencyLimit, l -> l.recentLatencyNanos() / 1e9)
+                    .tag("window", "recent")
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(request);
+            if (waitNanos > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, (long) Math.ceil(waitNanos / 1e9));
+                return;
+            }
+        }
+        if (concurrencyLimit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            concurrencyRejected.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed) {
+                concurrencyLimit.releaseIgnored();
+            }
+        }
+        if (request.isAsyncStarted()) {
+            concurrencyLimit.releaseIgnored();
+        } else {
+            release(response, start);
+        }
+    }
+
+    private void release(HttpServletResponse response, long start) {
+        int status = response.getStatus();
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            concurrencyLimit.releaseDropped();
+        } else if (status >= 500) {
+            concurrencyLimit.releaseIgnored();
+        } else {
+            concurrencyLimit.release(System.nanoTime() - start);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.websupport.shedding;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Token bucket per client and endpoint: a bucket holds up to {@code capacity} requests and
+ * refills at {@code refillPerSecond}. The client is the remote address (set
+ * {@code server.forward-headers-strategy} behind a proxy), the endpoint the method and the
+ * matched URI pattern, so {@code /api/items/1} and {@code /api/items/2} share a bucket and
+ * paths that match no endpoint share one too.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ObjectProvider<RequestMappingHandlerMapping> mappings;
+    private final MeterRegistry registry;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+    private volatile List<PathPattern> patterns;
+
+    public TokenBucketRateLimiter(ObjectProvider<RequestMappingHandlerMapping> mappings, MeterRegistry registry,
+            int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit needs a capacity of at least 1 and a positive refill rate");
+        }
+        this.mappings = mappings;
+        this.registry = registry;
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        Gauge.builder("http.server.rate_limit.buckets", buckets, Map::size)
+                .description("Clients and endpoints with a partly drained bucket")
+                .register(registry);
+    }
+
+    /**
+     * Takes a token from the request's bucket and returns 0, or returns the nanoseconds until
+     * the bucket has one again.
+     */
+    public long tryAcquire(HttpServletRequest request) {
+        String endpoint = endpoint(request);
+        long now = System.nanoTime();
+        sweep(now);
+        long waitNanos = buckets.computeIfAbsent(request.getRemoteAddr() + " " + request.getMethod() + " " + endpoint,
+                key -> new Bucket(capacity, now)).take(now, capacity, tokensPerNano);
+        if (waitNanos > 0) {
+            Counter.builder("http.server.rate_limit.rejected")
+                    .description("Requests answered 429 because the client's bucket was empty")
+                    .tags("method", request.getMethod(), "uri", endpoint)
+                    .register(registry)
+                    .increment();
+        }
+        return waitNanos;
+    }
+
+    // The handler mapping hasn't matched yet this early in the chain, so match against its patterns
+    private String endpoint(HttpServletRequest request) {
+        List<PathPattern> patterns = this.patterns;
+        if (patterns == null) {
+            patterns = mappings.getObject().getHandlerMethods().keySet().stream()
+                    .map(RequestMappingInfo::getPathPatternsCondition)
+                    .filter(Objects::nonNull)
+                    .flatMap(condition -> condition.getPatterns().stream())
+                    .distinct()
+                    .sorted(PathPattern.SPECIFICITY_COMPARATOR)
+                    .toList();
+            this.patterns = patterns;
+        }
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return pattern.getPatternString();
+            }
+        }
+        return "UNKNOWN";
+    }
+
+    // A bucket that has filled up again is no different from a new one, so drop it: the map
+    // only keeps clients that were active within the last refill period
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now, capacity, tokensPerNano));
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updated;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updated = now;
+        }
+
+        synchronized long take(long now, double capacity, double tokensPerNano) {
+            // Another thread may have come in with a later clock reading
+            if (now - updated > 0) {
+                tokens = Math.min(capacity, tokens + (now - updated) * tokensPerNano);
+                updated = now;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        synchronized boolean isFull(long now, double capacity, double tokensPerNano) {
+            return tokens + (now - updated) * tokensPerNano >= capacity;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.websupport.etag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+class VersionedETagsTest {
+
+    private final VersionedETags versions = new VersionedETags();
+
+    @Test
+    void aWriteMovesTheCollectionAndOnlyItsOwnItems() {
+        WebRequest json = request("application/json");
+        String collection = versions.collectionETag(json);
+        String one = versions.itemETag(1L, json);
+        String two = versions.itemETag(2L, json);
+        assertThat(collection).startsWith("W/\"");
+
+        versions.changed(1L);
+        assertThat(versions.collectionETag(json)).isNotEqualTo(collection);
+        assertThat(versions.itemETag(1L, json)).isNotEqualTo(one);
+        assertThat(versions.itemETag(2L, json)).isEqualTo(two);
+
+        String afterOne = versions.itemETag(1L, json);
+        versions.changed(List.of(2L, 3L));
+        assertThat(versions.itemETag(1L, json)).isEqualTo(afterOne);
+        assertThat(versions.itemETag(2L, json)).isEqualTo(versions.itemETag(3L, json)).isNotEqualTo(two);
+    }
+
+    @Test
+    void eachFormatHasItsOwnTag() {
+        assertThat(versions.collectionETag(request("application/json")))
+                .isNotEqualTo(versions.collectionETag(request("application/x-ndjson")))
+                .isNotEqualTo(versions.collectionETag(request(null)));
+        assertThat(versions.collectionETag(request("application/json")))
+                .isEqualTo(versions.collectionETag(request("application/json")));
+    }
+
+    @Test
+    void anotherProcessNeverMatches() {
+        assertThat(new VersionedETags().collectionETag(request(null)))
+                .isNotEqualTo(versions.collectionETag(request(null)));
+    }
+
+    private static WebRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return new ServletWebRequest(request);
+    }
+}
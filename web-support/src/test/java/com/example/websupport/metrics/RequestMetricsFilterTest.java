@@ -0,0 +1,73 @@
+package com.example.websupport.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @Test
+    void sendsAndCountsWhatIsLeftInTheWriter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new RequestMetricsFilter(registry, false).doFilter(new MockHttpServletRequest("GET", "/api/items"), response,
+                (request, res) -> res.getWriter().write("never flushed"));
+
+        assertThat(response.getContentAsString()).isEqualTo("never flushed");
+        assertThat(registry.get("http.server.response.size").summary().totalAmount()).isEqualTo(13);
+        assertThat(registry.find("http.server.db.queries").summary()).isNull();
+    }
+
+    @Test
+    void countsStatementsOfStreamedResponsesOnTheirOwnThread() throws Exception {
+        MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/api/items");
+        stream.setAsyncSupported(true);
+        new RequestMetricsFilter(registry, true).doFilter(stream, new MockHttpServletResponse(), (request, response) -> {
+            inspector.inspect("select count(*) from item");
+            request.startAsync();
+        });
+        // What the task executor does with a StreamingResponseBody after the filter has returned
+        Callable<Void> body = () -> {
+            inspector.inspect("select * from item");
+            inspector.inspect("select * from item_tag");
+            return null;
+        };
+        QueryCountCallableInterceptor interceptor = new QueryCountCallableInterceptor();
+        ServletWebRequest webRequest = new ServletWebRequest(stream);
+        CompletableFuture.runAsync(() -> {
+            try {
+                interceptor.preProcess(webRequest, body);
+                interceptor.postProcess(webRequest, body, body.call());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).join();
+        // Nothing is counted once the interceptor has let go of the thread
+        inspector.inspect("select 1");
+        stream.getAsyncContext().complete();
+
+        assertThat(registry.get("http.server.db.queries").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void leavesOutStatementsOfAsyncResponsesItCouldNotFollow() throws Exception {
+        MockHttpServletRequest deferred = new MockHttpServletRequest("GET", "/api/items");
+        deferred.setAsyncSupported(true);
+        new RequestMetricsFilter(registry, true).doFilter(deferred, new MockHttpServletResponse(),
+                (request, response) -> request.startAsync());
+        deferred.getAsyncContext().complete();
+
+        assertThat(registry.find("http.server.db.queries").summary()).isNull();
+        assertThat(registry.get("http.server.response.size").summary().count()).isEqualTo(1);
+    }
+}
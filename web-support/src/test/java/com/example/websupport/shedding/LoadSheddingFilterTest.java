@@ -0,0 +1,94 @@
+package com.example.websupport.shedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+
+class LoadSheddingFilterTest {
+
+    @Test
+    void shedsRequestsBeyondTheConcurrencyLimit() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoadSheddingFilter filter = new LoadSheddingFilter(null, limit, registry);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        // A second request arrives while the first one is still in the chain
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/items"), first, (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/items"), nested, new MockFilterChain()));
+
+        assertThat(nested.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(nested.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(first.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(limit.inflight()).isZero();
+        assertThat(registry.get("http.server.concurrency.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200);
+        serveAtLimit(limit, 200, TimeUnit.MILLISECONDS.toNanos(1));
+        int grown = limit.limit();
+        assertThat(grown).isGreaterThan(20);
+
+        // The connection pool saturates: requests now wait 20x longer
+        serveAtLimit(limit, 50, TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(limit.limit()).isLessThan(grown / 4).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void backsOffWhenTheAppReportsOverload() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200);
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.releaseDropped();
+        assertThat(limit.limit()).isEqualTo(18);
+        assertThat(limit.inflight()).isZero();
+    }
+
+    @Test
+    void slowStreamsDoNotShrinkTheLimit() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200);
+        serveAtLimit(limit, 200, TimeUnit.MILLISECONDS.toNanos(1));
+        int grown = limit.limit();
+        while (limit.inflight() > 0) {
+            limit.releaseIgnored();
+        }
+        LoadSheddingFilter filter = new LoadSheddingFilter(null, limit, new SimpleMeterRegistry());
+
+        for (int round = 0; round < 3; round++) {
+            List<MockHttpServletRequest> streams = new ArrayList<>();
+            for (int i = 0; i < grown; i++) {
+                MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/api/items");
+                stream.setAsyncSupported(true);
+                filter.doFilter(stream, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+                streams.add(stream);
+            }
+            // Given back when the handler returns, not when the client has read the body
+            assertThat(limit.inflight()).isZero();
+            Thread.sleep(20);
+            streams.forEach(stream -> stream.getAsyncContext().complete());
+        }
+        assertThat(limit.limit()).isEqualTo(grown);
+    }
+
+    // Keeps every slot busy, so each sample counts toward the limit
+    private static void serveAtLimit(AdaptiveConcurrencyLimit limit, int requests, long nanos) {
+        for (int i = 0; i < requests; i++) {
+            while (limit.tryAcquire()) {
+            }
+            limit.release(nanos);
+        }
+    }
+}